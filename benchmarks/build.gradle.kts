@@ -0,0 +1,56 @@
+plugins {
+    kotlin("jvm")
+    id("me.champeau.jmh") version "0.7.3"
+}
+
+group = "com.ps"
+version = "1.0-SNAPSHOT"
+
+repositories {
+    mavenCentral()
+}
+
+dependencies {
+    jmhImplementation(project(":"))
+    jmhImplementation("org.openjdk.jol:jol-core:0.17")
+}
+
+kotlin {
+    jvmToolchain(21)
+}
+
+jmh {
+    jmhVersion.set("1.37")
+    // ./gradlew :benchmarks:jmh -PjmhIncludes=s10
+    providers.gradleProperty("jmhIncludes").orNull?.let { includes.set(listOf(it)) }
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+    // Débit (ops/µs) + allocations par opération (gc.alloc.rate.norm)
+    profilers.set(listOf("gc"))
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("results/jmh/results.json"))
+}
+
+// Empreintes mémoire mesurées avec JOL (hors JMH)
+tasks.register<JavaExec>("userTableFootprint") {
+    group = "benchmark"
+    classpath = sourceSets["jmh"].runtimeClasspath
+    mainClass.set("com.ps.benchmarks.s01.UserTableFootprint")
+    jvmArgs("-Djdk.attach.allowAttachSelf=true", "-XX:+EnableDynamicAgentLoading")
+}
+
+// Décisions d'inlining de C2 aux sites d'appel de GreeterDispatchBenchmark (JVM filles, hors JMH)
+tasks.register<JavaExec>("dispatchInliningReport") {
+    group = "benchmark"
+    classpath = sourceSets["jmh"].runtimeClasspath
+    mainClass.set("com.ps.benchmarks.s02.DispatchInliningReport")
+}
+
+// Contention sur les compteurs s04: débit de 1 à N threads (puissances de 2)
+tasks.register<JavaExec>("counterContention") {
+    group = "benchmark"
+    classpath = sourceSets["jmh"].runtimeClasspath
+    mainClass.set("com.ps.benchmarks.s04.ConcurrentCounterBenchmark")
+    args("64")
+}
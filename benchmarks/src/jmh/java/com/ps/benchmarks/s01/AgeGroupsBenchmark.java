@@ -0,0 +1,91 @@
+package com.ps.benchmarks.s01;
+
+import com.ps.java21.s01.AgeGroups;
+import com.ps.java21.s01.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.ArrayList;
+import java.util.IntSummaryStatistics;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Effectifs et longueurs de nom par âge: AgeGroups (fork/join, tableaux par thread) à
+ * 1..N threads vs Collectors.groupingBy et groupBy/groupingBy Kotlin.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class AgeGroupsBenchmark {
+
+    @Param({ "10000000" })
+    private int rows;
+
+    @Param({ "1", "2", "4", "8" })
+    private int parallelism;
+
+    private List<User> users;
+    private List<com.ps.kotlin.s01.User> kotlinUsers;
+    private ForkJoinPool pool;
+
+    @Setup
+    public void setup() {
+        var random = new SplittableRandom(42);
+        users = new ArrayList<>(rows);
+        kotlinUsers = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            String name = "user-" + random.nextInt(100_000);
+            int age = random.nextInt(0, 100);
+            users.add(new User(name, age));
+            kotlinUsers.add(new com.ps.kotlin.s01.User(name, age));
+        }
+        pool = new ForkJoinPool(parallelism);
+    }
+
+    @TearDown
+    public void tearDown() { pool.shutdown(); }
+
+    @Benchmark
+    public AgeGroups ageGroups() {
+        return AgeGroups.aggregate(users, User::age, u -> u.name().length(), AgeGroups.DEFAULT_MAX_AGE, pool);
+    }
+
+    @Benchmark
+    public AgeGroups ageGroupsKotlinUsers() {
+        return AgeGroups.aggregate(kotlinUsers, com.ps.kotlin.s01.User::getAge, u -> u.getName().length(),
+                AgeGroups.DEFAULT_MAX_AGE, pool);
+    }
+
+    @Benchmark
+    public Map<Integer, IntSummaryStatistics> groupingBy() {
+        return users.stream().collect(Collectors.groupingBy(User::age, Collectors.summarizingInt(u -> u.name().length())));
+    }
+
+    // Flux parallèle sur le même pool pour comparer à parallélisme égal
+    @Benchmark
+    public Map<Integer, IntSummaryStatistics> groupingByConcurrentParallel() {
+        return pool.submit(() -> users.parallelStream()
+                .collect(Collectors.groupingByConcurrent(User::age, Collectors.summarizingInt(u -> u.name().length()))))
+                .join();
+    }
+
+    @Benchmark
+    public Map<Integer, Integer> kotlinGroupBy() { return KotlinCallSitesKt.kotlinGroupByCount(kotlinUsers); }
+
+    @Benchmark
+    public Map<Integer, Integer> kotlinGroupingByEachCount() { return KotlinCallSitesKt.kotlinGroupingByEachCount(kotlinUsers); }
+}
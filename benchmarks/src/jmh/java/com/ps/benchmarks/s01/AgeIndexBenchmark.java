@@ -0,0 +1,78 @@
+package com.ps.benchmarks.s01;
+
+import com.ps.java21.s01.AgeIndex;
+import com.ps.java21.s01.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Requêtes "âge entre 25 et 34" sur 10M User: AgeIndex vs filtrage par Stream.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class AgeIndexBenchmark {
+
+    @Param({ "10000000" })
+    private int rows;
+
+    private List<User> users;
+    private AgeIndex index;
+    private int nextRow;
+
+    @Setup
+    public void setup() {
+        var random = new SplittableRandom(42);
+        users = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) users.add(new User("user-" + (i % 10_000), random.nextInt(18, 90)));
+        index = new AgeIndex();
+        index.addAll(users);
+        nextRow = rows;
+    }
+
+    @Benchmark
+    public long streamCount() {
+        return users.stream().filter(u -> u.age() >= 25 && u.age() <= 34).count();
+    }
+
+    @Benchmark
+    public int indexCount() { return index.countBetween(25, 34); }
+
+    @Benchmark
+    public int[] streamRows() {
+        return IntStream.range(0, users.size()).filter(i -> users.get(i).age() >= 25 && users.get(i).age() <= 34).toArray();
+    }
+
+    @Benchmark
+    public int[] indexRows() { return index.rowsBetween(25, 34); }
+
+    @Benchmark
+    public int streamMedian() {
+        int[] ages = users.stream().mapToInt(User::age).sorted().toArray();
+        return ages[(ages.length - 1) / 2];
+    }
+
+    @Benchmark
+    public int indexMedian() { return index.percentile(50); }
+
+    // Maintenance incrémentale: un ajout suivi d'un comptage (tampon + fusions amorties)
+    @Benchmark
+    public int indexAddThenCount() {
+        index.add(nextRow++, 30);
+        return index.countBetween(25, 34);
+    }
+}
@@ -0,0 +1,90 @@
+package com.ps.benchmarks.s01;
+
+import com.ps.java21.s01.OffHeapUserStore;
+import com.ps.java21.s01.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OffHeapUserStoreBenchmark {
+
+    @Param({ "1000000" })
+    private int rows;
+
+    @Param({ "direct", "mapped" })
+    private String backing;
+
+    private Path dir;
+    private OffHeapUserStore store;
+    private List<User> list;
+
+    @Setup
+    public void setup() throws IOException {
+        if (backing.equals("mapped")) {
+            dir = Files.createTempDirectory("offheap-users");
+            store = OffHeapUserStore.open(dir.resolve("users"));
+        } else {
+            store = OffHeapUserStore.allocateDirect();
+        }
+        list = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            var u = new User("user-" + i, 18 + i % 70);
+            store.append(u);
+            list.add(u);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        store.close();
+        if (dir != null) {
+            try (Stream<Path> files = Files.walk(dir)) {
+                for (Path p : files.sorted(Comparator.reverseOrder()).toList()) Files.delete(p);
+            }
+        }
+    }
+
+    @Benchmark
+    public int storeRandomAge() { return store.age(ThreadLocalRandom.current().nextInt(rows)); }
+
+    @Benchmark
+    public int listRandomAge() { return list.get(ThreadLocalRandom.current().nextInt(rows)).age(); }
+
+    @Benchmark
+    public User storeRandomGet() { return store.get(ThreadLocalRandom.current().nextInt(rows)); }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long storeScanAges() {
+        long[] sum = { 0 };
+        store.forEachAge((row, age) -> sum[0] += age);
+        return sum[0];
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long listScanAges() {
+        long sum = 0;
+        for (User u : list) sum += u.age();
+        return sum;
+    }
+}
@@ -0,0 +1,59 @@
+package com.ps.benchmarks.s01;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UserBenchmark {
+
+    private com.ps.java8.s01.User java8A, java8B;
+    private com.ps.java21.s01.User java21A, java21B;
+    private com.ps.kotlin.s01.User kotlinA, kotlinB;
+
+    @Setup
+    public void setup() {
+        // Deux instances égales mais distinctes: pas de raccourci this == o
+        java8A = new com.ps.java8.s01.User(new String("Alice"), 30);
+        java8B = new com.ps.java8.s01.User(new String("Alice"), 30);
+        java21A = new com.ps.java21.s01.User(new String("Alice"), 30);
+        java21B = new com.ps.java21.s01.User(new String("Alice"), 30);
+        kotlinA = new com.ps.kotlin.s01.User(new String("Alice"), 30);
+        kotlinB = new com.ps.kotlin.s01.User(new String("Alice"), 30);
+    }
+
+    @Benchmark
+    public boolean java8Equals() { return java8A.equals(java8B); }
+
+    @Benchmark
+    public boolean java21Equals() { return java21A.equals(java21B); }
+
+    @Benchmark
+    public boolean kotlinEquals() { return kotlinA.equals(kotlinB); }
+
+    @Benchmark
+    public int java8HashCode() { return java8A.hashCode(); }
+
+    @Benchmark
+    public int java21HashCode() { return java21A.hashCode(); }
+
+    @Benchmark
+    public int kotlinHashCode() { return kotlinA.hashCode(); }
+
+    @Benchmark
+    public String java8ToString() { return java8A.toString(); }
+
+    @Benchmark
+    public String java21ToString() { return java21A.toString(); }
+
+    @Benchmark
+    public String kotlinToString() { return kotlinA.toString(); }
+}
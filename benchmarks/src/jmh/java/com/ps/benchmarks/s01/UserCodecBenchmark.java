@@ -0,0 +1,133 @@
+package com.ps.benchmarks.s01;
+
+import com.ps.java21.s01.User;
+import com.ps.java21.s01.UserCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Débit d'encodage/décodage d'un lot de User: UserCodec (trois variantes)
+ * vs sérialisation Java. Les User du cheatsheet ne sont pas Serializable:
+ * la référence utilise un record de même forme.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class UserCodecBenchmark {
+
+    record SerializableUser(String name, int age) implements Serializable { }
+
+    @Param({ "1000" })
+    private int batch;
+
+    private User[] java21Users;
+    private com.ps.java8.s01.User[] java8Users;
+    private List<com.ps.kotlin.s01.User> kotlinUsers;
+    private SerializableUser[] serializableUsers;
+
+    private ByteBuffer heap;
+    private ByteBuffer direct;
+    private ByteBuffer encoded;
+    private byte[] serialized;
+    private byte[] needle;
+
+    @Setup
+    public void setup() throws IOException {
+        java21Users = new User[batch];
+        java8Users = new com.ps.java8.s01.User[batch];
+        var kotlin = new com.ps.kotlin.s01.User[batch];
+        serializableUsers = new SerializableUser[batch];
+        for (int i = 0; i < batch; i++) {
+            String name = "user-" + i;
+            int age = 18 + i % 70;
+            java21Users[i] = new User(name, age);
+            java8Users[i] = new com.ps.java8.s01.User(name, age);
+            kotlin[i] = new com.ps.kotlin.s01.User(name, age);
+            serializableUsers[i] = new SerializableUser(name, age);
+        }
+        kotlinUsers = List.of(kotlin);
+        heap = ByteBuffer.allocate(batch * 32);
+        direct = ByteBuffer.allocateDirect(batch * 32);
+
+        UserCodec.encodeAll(java21Users, heap);
+        encoded = heap.flip().slice();
+        serialized = javaSerialize();
+        needle = "user-42".getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public int java8Encode() {
+        direct.clear();
+        com.ps.java8.s01.UserCodec.encodeAll(java8Users, direct);
+        return direct.position();
+    }
+
+    @Benchmark
+    public int java21Encode() {
+        direct.clear();
+        UserCodec.encodeAll(java21Users, direct);
+        return direct.position();
+    }
+
+    @Benchmark
+    public int kotlinEncode() {
+        direct.clear();
+        com.ps.kotlin.s01.UserCodec.INSTANCE.encodeAll(kotlinUsers, direct);
+        return direct.position();
+    }
+
+    @Benchmark
+    public User[] java21Decode() { return UserCodec.decodeArray(encoded.duplicate()); }
+
+    @Benchmark
+    public List<com.ps.kotlin.s01.User> kotlinDecode() {
+        return com.ps.kotlin.s01.UserCodec.INSTANCE.decodeAll(encoded.duplicate());
+    }
+
+    // Lecture sans allocation: somme des âges + recherche d'un nom sur les octets
+    @Benchmark
+    public long java21ZeroCopyScan() {
+        var reader = new UserCodec.Reader(encoded.duplicate());
+        long acc = 0;
+        while (reader.next()) {
+            acc += reader.age();
+            if (reader.nameEquals(needle)) acc ^= reader.nameOffset();
+        }
+        return acc;
+    }
+
+    @Benchmark
+    public byte[] javaSerializationEncode() throws IOException { return javaSerialize(); }
+
+    @Benchmark
+    public Object javaSerializationDecode() throws IOException, ClassNotFoundException {
+        try (var in = new ObjectInputStream(new ByteArrayInputStream(serialized))) {
+            return in.readObject();
+        }
+    }
+
+    private byte[] javaSerialize() throws IOException {
+        var bytes = new ByteArrayOutputStream(batch * 64);
+        try (var out = new ObjectOutputStream(bytes)) {
+            out.writeObject(serializableUsers);
+        }
+        return bytes.toByteArray();
+    }
+}
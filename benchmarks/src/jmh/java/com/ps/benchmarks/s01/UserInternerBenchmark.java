@@ -0,0 +1,118 @@
+package com.ps.benchmarks.s01;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Appartenance à un HashSet avec des User "dupliqués" (Strings distinctes, equals
+ * compare les caractères) vs des User internés (equals court-circuité par ==).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UserInternerBenchmark {
+
+    @Param({ "10000" })
+    private int distinct;
+
+    // Noms longs: c'est là que la comparaison caractère par caractère coûte
+    private static String name(int i) { return "firstname.lastname.department-" + i; }
+
+    private com.ps.java8.s01.User[] java8Duplicates, java8Interned;
+    private com.ps.java21.s01.User[] java21Duplicates, java21Interned;
+    private com.ps.kotlin.s01.User[] kotlinDuplicates, kotlinInterned;
+    private Set<Object> java8Set, java21Set, kotlinSet;
+
+    private com.ps.java8.s01.UserInterner java8Interner;
+    private com.ps.java21.s01.UserInterner java21Interner;
+    private com.ps.kotlin.s01.UserInterner kotlinInterner;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        java8Interner = new com.ps.java8.s01.UserInterner();
+        java21Interner = new com.ps.java21.s01.UserInterner();
+        kotlinInterner = new com.ps.kotlin.s01.UserInterner();
+        java8Duplicates = new com.ps.java8.s01.User[distinct];
+        java8Interned = new com.ps.java8.s01.User[distinct];
+        java21Duplicates = new com.ps.java21.s01.User[distinct];
+        java21Interned = new com.ps.java21.s01.User[distinct];
+        kotlinDuplicates = new com.ps.kotlin.s01.User[distinct];
+        kotlinInterned = new com.ps.kotlin.s01.User[distinct];
+        java8Set = new HashSet<>();
+        java21Set = new HashSet<>();
+        kotlinSet = new HashSet<>();
+
+        for (int i = 0; i < distinct; i++) {
+            int age = 18 + i % 70;
+            // Le set contient les instances canoniques (internées)
+            java8Set.add(java8Interner.intern(new com.ps.java8.s01.User(name(i), age)));
+            java21Set.add(java21Interner.intern(new com.ps.java21.s01.User(name(i), age)));
+            kotlinSet.add(kotlinInterner.intern(new com.ps.kotlin.s01.User(name(i), age)));
+
+            // Doublons "frais", comme en sortie d'ingestion
+            java8Duplicates[i] = new com.ps.java8.s01.User(name(i), age);
+            java21Duplicates[i] = new com.ps.java21.s01.User(name(i), age);
+            kotlinDuplicates[i] = new com.ps.kotlin.s01.User(name(i), age);
+            java8Interned[i] = java8Interner.intern(java8Duplicates[i]);
+            java21Interned[i] = java21Interner.intern(java21Duplicates[i]);
+            kotlinInterned[i] = kotlinInterner.intern(kotlinDuplicates[i]);
+        }
+    }
+
+    @Benchmark
+    public int java8ContainsDuplicates() { return count(java8Set, java8Duplicates); }
+
+    @Benchmark
+    public int java8ContainsInterned() { return count(java8Set, java8Interned); }
+
+    @Benchmark
+    public int java21ContainsDuplicates() { return count(java21Set, java21Duplicates); }
+
+    @Benchmark
+    public int java21ContainsInterned() { return count(java21Set, java21Interned); }
+
+    @Benchmark
+    public int kotlinContainsDuplicates() { return count(kotlinSet, kotlinDuplicates); }
+
+    @Benchmark
+    public int kotlinContainsInterned() { return count(kotlinSet, kotlinInterned); }
+
+    // Coût de l'internement lui-même (cas hit: toutes les valeurs sont déjà connues)
+    @Benchmark
+    public int java8Intern() {
+        int h = 0;
+        for (com.ps.java8.s01.User u : java8Duplicates) h += System.identityHashCode(java8Interner.intern(u));
+        return h;
+    }
+
+    @Benchmark
+    public int java21Intern() {
+        int h = 0;
+        for (com.ps.java21.s01.User u : java21Duplicates) h += System.identityHashCode(java21Interner.intern(u));
+        return h;
+    }
+
+    @Benchmark
+    public int kotlinIntern() {
+        int h = 0;
+        for (com.ps.kotlin.s01.User u : kotlinDuplicates) h += System.identityHashCode(kotlinInterner.intern(u));
+        return h;
+    }
+
+    private static int count(Set<Object> set, Object[] probes) {
+        int found = 0;
+        for (Object p : probes) if (set.contains(p)) found++;
+        return found;
+    }
+}
@@ -0,0 +1,116 @@
+package com.ps.benchmarks.s01;
+
+import com.ps.java21.s01.User;
+import com.ps.java21.s01.UserMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registre de User lu beaucoup, modifié peu: lecture, instantané et mise à jour.
+ * UserMap (HAMT persistant, Java 21 et Kotlin) vs HashMap en copy-on-write
+ * (chaque écriture ou instantané recopie la map) et ConcurrentHashMap
+ * (écriture en place, mais un instantané cohérent exige une copie).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UserMapBenchmark {
+
+    @Param({ "1000", "100000" })
+    private int size;
+
+    private String[] names;
+    private int next;
+
+    private UserMap java21Map;
+    private com.ps.kotlin.s01.UserMap kotlinMap;
+    private Map<String, User> hashMap;
+    private ConcurrentHashMap<String, User> concurrentMap;
+
+    @Setup
+    public void setup() {
+        names = new String[size];
+        java21Map = UserMap.empty();
+        kotlinMap = com.ps.kotlin.s01.UserMap.Companion.empty();
+        hashMap = new HashMap<>();
+        concurrentMap = new ConcurrentHashMap<>();
+        for (int i = 0; i < size; i++) {
+            String name = "user-" + i;
+            names[i] = name;
+            var user = new User(name, 18 + i % 70);
+            java21Map = java21Map.put(user);
+            kotlinMap = kotlinMap.plus(new com.ps.kotlin.s01.User(name, user.age()));
+            hashMap.put(name, user);
+            concurrentMap.put(name, user);
+        }
+    }
+
+    private String nextName() {
+        next = next + 1 == size ? 0 : next + 1;
+        return names[next];
+    }
+
+    // --- lecture ---
+
+    @Benchmark
+    public User java21Get() { return java21Map.get(nextName()); }
+
+    @Benchmark
+    public com.ps.kotlin.s01.User kotlinGet() { return kotlinMap.get(nextName()); }
+
+    @Benchmark
+    public User hashMapGet() { return hashMap.get(nextName()); }
+
+    @Benchmark
+    public User concurrentHashMapGet() { return concurrentMap.get(nextName()); }
+
+    // --- instantané ---
+
+    @Benchmark
+    public UserMap java21Snapshot() { return java21Map; }
+
+    @Benchmark
+    public Map<String, User> hashMapSnapshot() { return new HashMap<>(hashMap); }
+
+    @Benchmark
+    public Map<String, User> concurrentHashMapSnapshot() { return new HashMap<>(concurrentMap); }
+
+    // --- mise à jour d'un âge, nouvelle version publiée ---
+
+    @Benchmark
+    public UserMap java21WithAge() {
+        String name = nextName();
+        return java21Map = java21Map.withAge(name, java21Map.get(name).age() + 1);
+    }
+
+    @Benchmark
+    public com.ps.kotlin.s01.UserMap kotlinCopyAge() {
+        String name = nextName();
+        return kotlinMap = KotlinCallSitesKt.kotlinMapWithAge(kotlinMap, name, kotlinMap.get(name).getAge() + 1);
+    }
+
+    @Benchmark
+    public Map<String, User> hashMapCopyOnWrite() {
+        String name = nextName();
+        var copy = new HashMap<>(hashMap);
+        copy.computeIfPresent(name, (n, u) -> new User(n, u.age() + 1));
+        return hashMap = copy;
+    }
+
+    @Benchmark
+    public Map<String, User> concurrentHashMapInPlace() {
+        concurrentMap.computeIfPresent(nextName(), (n, u) -> new User(n, u.age() + 1));
+        return concurrentMap;
+    }
+}
@@ -0,0 +1,82 @@
+package com.ps.benchmarks.s01;
+
+import com.ps.java21.s01.User;
+import com.ps.java21.s01.UserSorter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tri de User par (nom, âge): UserSorter (clés normalisées + radix) vs List.sort(Comparator).
+ * Chaque appel trie une copie fraîche de la liste, pour les deux approches.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class UserSorterBenchmark {
+
+    private static final String[] FIRST_NAMES = {
+            "Alice", "Bob", "Chloé", "David", "Emma", "François", "Gabriel", "Hugo", "Inès", "Jules",
+            "Léa", "Louis", "Manon", "Nathan", "Océane", "Paul", "Quentin", "Raphaël", "Sarah", "Thomas" };
+
+    @Param({ "1000000" })
+    private int rows;
+
+    private List<User> users;
+    private List<com.ps.kotlin.s01.User> kotlinUsers;
+
+    @Setup
+    public void setup() {
+        var random = new SplittableRandom(42);
+        users = new ArrayList<>(rows);
+        kotlinUsers = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            // Préfixes partagés ("Alice-…") pour exercer aussi le départage des égalités
+            String name = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + "-" + random.nextInt(1_000_000);
+            int age = random.nextInt(18, 90);
+            users.add(new User(name, age));
+            kotlinUsers.add(new com.ps.kotlin.s01.User(name, age));
+        }
+    }
+
+    @Benchmark
+    public List<User> listSortComparator() {
+        var copy = new ArrayList<>(users);
+        copy.sort(Comparator.comparing(User::name).thenComparingInt(User::age));
+        return copy;
+    }
+
+    @Benchmark
+    public List<User> userSorter() {
+        var copy = new ArrayList<>(users);
+        UserSorter.sort(copy);
+        return copy;
+    }
+
+    @Benchmark
+    public List<com.ps.kotlin.s01.User> kotlinListSortComparator() {
+        var copy = new ArrayList<>(kotlinUsers);
+        copy.sort(Comparator.comparing(com.ps.kotlin.s01.User::getName).thenComparingInt(com.ps.kotlin.s01.User::getAge));
+        return copy;
+    }
+
+    @Benchmark
+    public List<com.ps.kotlin.s01.User> kotlinUserSorter() {
+        var copy = new ArrayList<>(kotlinUsers);
+        UserSorter.sort(copy, com.ps.kotlin.s01.User::getName, com.ps.kotlin.s01.User::getAge);
+        return copy;
+    }
+}
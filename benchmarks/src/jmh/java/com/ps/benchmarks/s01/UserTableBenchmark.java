@@ -0,0 +1,67 @@
+package com.ps.benchmarks.s01;
+
+import com.ps.java21.s01.User;
+import com.ps.java21.s01.UserTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class UserTableBenchmark {
+
+    @Param({ "1000000" })
+    private int rows;
+
+    private List<User> list;
+    private UserTable table;
+    private com.ps.kotlin.s01.UserTable kotlinTable;
+
+    @Setup
+    public void setup() {
+        list = new ArrayList<>(rows);
+        kotlinTable = new com.ps.kotlin.s01.UserTable(rows);
+        for (int i = 0; i < rows; i++) {
+            String name = "user-" + (i % 10_000);
+            int age = 18 + i % 70;
+            list.add(new User(name, age));
+            kotlinTable.append(name, age);
+        }
+        table = new UserTable(rows);
+        table.appendAll(list);
+    }
+
+    @Benchmark
+    public long listCountByAge() {
+        return list.stream().filter(u -> u.age() >= 25 && u.age() <= 34).count();
+    }
+
+    @Benchmark
+    public int tableCountByAge() { return table.countByAge(25, 34); }
+
+    @Benchmark
+    public int kotlinTableCountByAge() { return kotlinTable.countByAge(new kotlin.ranges.IntRange(25, 34)); }
+
+    @Benchmark
+    public void listFilterByAge(Blackhole bh) {
+        for (User u : list) {
+            if (u.age() >= 25 && u.age() <= 34) bh.consume(u.name());
+        }
+    }
+
+    @Benchmark
+    public void tableFilterByAge(Blackhole bh) {
+        table.filterByAge(25, 34).forEach((row, name, age) -> bh.consume(name));
+    }
+}
@@ -0,0 +1,45 @@
+package com.ps.benchmarks.s01;
+
+import com.ps.java21.s01.User;
+import com.ps.java21.s01.UserTable;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Empreinte mémoire List&lt;User&gt; vs UserTable (Java 21 et Kotlin), mesurée par JOL.
+ * ./gradlew :benchmarks:userTableFootprint [--args="rows distinctNames"]
+ */
+public class UserTableFootprint {
+
+    public static void main(String[] args) {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int distinct = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+
+        // Une String par ligne, comme après un parsing: pas de partage implicite
+        List<User> java21List = new ArrayList<>(rows);
+        List<com.ps.kotlin.s01.User> kotlinList = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            String name = "user-" + (i % distinct);
+            int age = 18 + i % 70;
+            java21List.add(new User(name, age));
+            kotlinList.add(new com.ps.kotlin.s01.User(name, age));
+        }
+
+        UserTable java21Table = new UserTable(rows);
+        java21Table.appendAll(java21List);
+        com.ps.kotlin.s01.UserTable kotlinTable = new com.ps.kotlin.s01.UserTable(rows);
+        kotlinTable.appendAll(kotlinList);
+
+        System.out.printf("%,d lignes, %,d noms distincts%n", rows, distinct);
+        report("java21 List<User>", GraphLayout.parseInstance(java21List).totalSize(), rows);
+        report("java21 UserTable", GraphLayout.parseInstance(java21Table).totalSize(), rows);
+        report("kotlin List<User>", GraphLayout.parseInstance(kotlinList).totalSize(), rows);
+        report("kotlin UserTable", GraphLayout.parseInstance(kotlinTable).totalSize(), rows);
+    }
+
+    private static void report(String label, long bytes, int rows) {
+        System.out.printf("%-20s %,14d octets  %6.1f octets/ligne%n", label, bytes, (double) bytes / rows);
+    }
+}
@@ -0,0 +1,137 @@
+package com.ps.benchmarks.s01;
+
+import com.ps.java21.s01.User;
+import com.ps.java21.s01.UserText;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Import/export CSV et JSON via FileChannel: UserText vs BufferedReader/BufferedWriter
+ * (readLine + split + Integer.parseInt, concaténation par ligne).
+ * Score en enregistrements/s; le compteur "megabytes" donne le débit en Mo/s et
+ * gc.alloc.rate.norm (-prof gc) les octets alloués par enregistrement.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(UserTextBenchmark.ROWS)
+public class UserTextBenchmark {
+
+    static final int ROWS = 100_000;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Throughput {
+        public double megabytes;
+    }
+
+    private Path dir;
+    private Path csv;
+    private Path json;
+    private Path out;
+    private User[] users;
+
+    @Setup
+    public void setup() throws IOException {
+        dir = Files.createTempDirectory("user-text");
+        csv = dir.resolve("users.csv");
+        json = dir.resolve("users.json");
+        out = dir.resolve("out");
+        users = new User[ROWS];
+        for (int i = 0; i < ROWS; i++) users[i] = new User("user-" + i, 18 + i % 70);
+        try (var csvWriter = new UserText.Writer(write(csv), UserText.Format.CSV);
+             var jsonWriter = new UserText.Writer(write(json), UserText.Format.JSON)) {
+            for (User u : users) {
+                csvWriter.write(u);
+                jsonWriter.write(u);
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        for (Path p : new Path[] { csv, json, out, dir }) Files.deleteIfExists(p);
+    }
+
+    // Lecture sans matérialisation: âge et longueur du nom directement sur les octets
+    @Benchmark
+    public long java21CsvScan(Throughput t) throws IOException { return scan(csv, UserText.Format.CSV, t); }
+
+    @Benchmark
+    public long java21JsonScan(Throughput t) throws IOException { return scan(json, UserText.Format.JSON, t); }
+
+    @Benchmark
+    public void java21CsvReadUsers(Throughput t, Blackhole bh) throws IOException {
+        try (var in = FileChannel.open(csv)) {
+            new UserText.Reader(in, UserText.Format.CSV).readUsers(bh::consume);
+        }
+        t.megabytes += Files.size(csv) / 1e6;
+    }
+
+    @Benchmark
+    public void bufferedReaderCsvReadUsers(Throughput t, Blackhole bh) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(csv)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split(",");
+                bh.consume(new User(fields[0], Integer.parseInt(fields[1])));
+            }
+        }
+        t.megabytes += Files.size(csv) / 1e6;
+    }
+
+    @Benchmark
+    public void java21CsvWrite(Throughput t) throws IOException { export(UserText.Format.CSV, t); }
+
+    @Benchmark
+    public void java21JsonWrite(Throughput t) throws IOException { export(UserText.Format.JSON, t); }
+
+    @Benchmark
+    public void bufferedWriterCsvWrite(Throughput t) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(out)) {
+            for (User u : users) writer.write(u.name() + "," + u.age() + "\n");
+        }
+        t.megabytes += Files.size(out) / 1e6;
+    }
+
+    private long scan(Path file, UserText.Format format, Throughput t) throws IOException {
+        var sum = new long[1];
+        try (var in = FileChannel.open(file)) {
+            new UserText.Reader(in, format).read((bytes, offset, length, age) -> sum[0] += age + length);
+        }
+        t.megabytes += Files.size(file) / 1e6;
+        return sum[0];
+    }
+
+    private void export(UserText.Format format, Throughput t) throws IOException {
+        try (var writer = new UserText.Writer(write(out), format)) {
+            for (User u : users) writer.write(u);
+        }
+        t.megabytes += Files.size(out) / 1e6;
+    }
+
+    private static FileChannel write(Path file) throws IOException {
+        return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+    }
+}
@@ -0,0 +1,119 @@
+package com.ps.benchmarks.s02;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Décisions d'inlining de C2 aux sites d'appel de GreeterDispatchBenchmark, par profil.
+ * Pour chaque nombre de types, lance une JVM fille (-XX:-TieredCompilation, PrintInlining limité
+ * aux méthodes de DispatchWorkload), chauffe les neuf sites puis résume ce que C2 a fait de chaque
+ * appel greet/greetCasual/greetTo, par classe receveuse: « inline (hot) », « already compiled into
+ * a big method » (appel direct gardé par le type, mais non inliné) ou « virtual call » (itable).
+ * ./gradlew :benchmarks:dispatchInliningReport [--args="1 2 3 8"]
+ */
+public class DispatchInliningReport {
+
+    private static final int ROUNDS = 12_000;
+
+    // "   @ 28   com.ps.java8.s02.Greeter::greet (0 bytes)   virtual call"
+    private static final Pattern CALL = Pattern.compile("^(\\s*)@ \\d+\\s+(\\S+)::(\\w+) \\(\\d+ bytes\\)\\s+(.*)$");
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length == 2 && args[0].equals("child")) {
+            child(Integer.parseInt(args[1]));
+            return;
+        }
+        int[] profiles = args.length == 0 ? new int[]{1, 2, 3, 8} : parse(args);
+        for (int types : profiles) {
+            System.out.println("types = " + types + (types == 1 ? " (monomorphe)" : types == 2 ? " (bimorphe)" : " (mégamorphe)"));
+            report(run(types)).forEach((site, decisions) ->
+                    System.out.printf("  %-20s %s%n", site, String.join(", ", decisions)));
+        }
+    }
+
+    private static int[] parse(String[] args) {
+        int[] profiles = new int[args.length];
+        for (int i = 0; i < args.length; i++) profiles[i] = Integer.parseInt(args[i]);
+        return profiles;
+    }
+
+    private static List<String> run(int types) throws IOException, InterruptedException {
+        String java = ProcessHandle.current().info().command().orElse("java");
+        var process = new ProcessBuilder(java,
+                "-XX:-TieredCompilation",
+                "-XX:+UnlockDiagnosticVMOptions",
+                "-XX:CompileCommand=quiet",
+                "-XX:CompileCommand=PrintInlining," + DispatchWorkload.class.getName() + "::*",
+                "-cp", System.getProperty("java.class.path"),
+                DispatchInliningReport.class.getName(), "child", String.valueOf(types))
+                .redirectErrorStream(true)
+                .start();
+        var lines = new ArrayList<String>();
+        try (var in = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+            for (String line; (line = in.readLine()) != null; ) lines.add(line);
+        }
+        if (process.waitFor() != 0) throw new IllegalStateException("child JVM failed:\n" + String.join("\n", lines));
+        return lines;
+    }
+
+    // Ne garde que les appels directs des boucles (indentation minimale), dédoublonnés entre
+    // compilation OSR et compilation normale
+    static Map<String, Set<String>> report(List<String> lines) {
+        int depth = Integer.MAX_VALUE;
+        for (String line : lines) {
+            Matcher m = CALL.matcher(line);
+            if (m.matches()) depth = Math.min(depth, m.group(1).length());
+        }
+        Map<String, Set<String>> sites = new LinkedHashMap<>();
+        for (String language : List.of("java8", "java21", "kotlin")) {
+            for (String method : List.of("greet", "greetCasual", "greetTo")) sites.put(language + "." + method, new LinkedHashSet<>());
+        }
+        for (String line : lines) {
+            Matcher m = CALL.matcher(line);
+            if (!m.matches() || m.group(1).length() != depth || !m.group(3).startsWith("greet")) continue;
+            String owner = m.group(2);
+            String receiver = owner.substring(Math.max(owner.lastIndexOf('.'), owner.lastIndexOf('$')) + 1);
+            String site = language(owner) + "." + m.group(3);
+            String decision = m.group(4).trim();
+            sites.get(site).add(decision.equals("virtual call") ? decision : receiver + ": " + decision);
+        }
+        return sites;
+    }
+
+    private static String language(String owner) {
+        if (owner.startsWith("com.ps.java8.") || owner.contains("$Java8Greeter")) return "java8";
+        if (owner.startsWith("com.ps.java21.") || owner.contains("$Java21Greeter")) return "java21";
+        return "kotlin";
+    }
+
+    private static void child(int types) {
+        var java8 = DispatchWorkload.java8(types);
+        var java21 = DispatchWorkload.java21(types);
+        var kotlin = DispatchWorkload.kotlin(types);
+        var names = DispatchWorkload.names();
+        var results = new String[DispatchWorkload.RECEIVERS];
+        var out = new StringBuilder(64);
+        long sink = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+            sink += DispatchWorkload.java8Greet(java8, names, results).length;
+            sink += DispatchWorkload.java8GreetCasual(java8, names, results).length;
+            sink += DispatchWorkload.java8GreetTo(java8, names, out);
+            sink += DispatchWorkload.java21Greet(java21, names, results).length;
+            sink += DispatchWorkload.java21GreetCasual(java21, names, results).length;
+            sink += DispatchWorkload.java21GreetTo(java21, names, out);
+            sink += DispatchWorkload.kotlinGreet(kotlin, names, results).length;
+            sink += DispatchWorkload.kotlinGreetCasual(kotlin, names, results).length;
+            sink += DispatchWorkload.kotlinGreetTo(kotlin, names, out);
+        }
+        if (sink == 42) System.out.println();
+    }
+}
@@ -0,0 +1,198 @@
+package com.ps.benchmarks.s02;
+
+/**
+ * Sites d'appel d'interface partagés par GreeterDispatchBenchmark et DispatchInliningReport:
+ * N = 8 implémentations par interface, chacune avec sa propre redéfinition de greet et greetTo,
+ * greetCasual restant la méthode par défaut de l'interface.
+ * Le tableau de receveurs alterne « types » classes distinctes: 1 = monomorphe, 2 = bimorphe,
+ * 3 et plus = mégamorphe pour C2 (profil de type limité à 2 receveurs, TypeProfileWidth).
+ */
+final class DispatchWorkload {
+    private DispatchWorkload() {}
+
+    static final int IMPLEMENTATIONS = 8;
+    static final int RECEIVERS = 1024;
+
+    static com.ps.java8.s02.Greeter[] java8(int types) {
+        com.ps.java8.s02.Greeter[] all = {
+                new Java8Greeter0(), new Java8Greeter1(), new Java8Greeter2(), new Java8Greeter3(),
+                new Java8Greeter4(), new Java8Greeter5(), new Java8Greeter6(), new Java8Greeter7()};
+        var receivers = new com.ps.java8.s02.Greeter[RECEIVERS];
+        for (int i = 0; i < RECEIVERS; i++) receivers[i] = all[i % checkTypes(types)];
+        return receivers;
+    }
+
+    static com.ps.java21.s02.Greeter[] java21(int types) {
+        com.ps.java21.s02.Greeter[] all = {
+                new Java21Greeter0(), new Java21Greeter1(), new Java21Greeter2(), new Java21Greeter3(),
+                new Java21Greeter4(), new Java21Greeter5(), new Java21Greeter6(), new Java21Greeter7()};
+        var receivers = new com.ps.java21.s02.Greeter[RECEIVERS];
+        for (int i = 0; i < RECEIVERS; i++) receivers[i] = all[i % checkTypes(types)];
+        return receivers;
+    }
+
+    static com.ps.kotlin.s02.Greeter[] kotlin(int types) {
+        com.ps.kotlin.s02.Greeter[] all = KotlinGreetersKt.kotlinGreeters();
+        var receivers = new com.ps.kotlin.s02.Greeter[RECEIVERS];
+        for (int i = 0; i < RECEIVERS; i++) receivers[i] = all[i % checkTypes(types)];
+        return receivers;
+    }
+
+    private static int checkTypes(int types) {
+        if (types < 1 || types > IMPLEMENTATIONS) throw new IllegalArgumentException("types must be in 1.." + IMPLEMENTATIONS);
+        return types;
+    }
+
+    /** Un nom par receveur: sans quoi C2 plie "Hello " + nom en constante hors de la boucle. */
+    static String[] names() {
+        var names = new String[RECEIVERS];
+        for (int i = 0; i < RECEIVERS; i++) names[i] = "user-" + i;
+        return names;
+    }
+
+    // Un site d'appel par méthode et par interface: le profil de l'un ne pollue pas les autres.
+    // Les salutations sont rangées dans results: elles s'échappent et sont réellement construites
+
+    static String[] java8Greet(com.ps.java8.s02.Greeter[] greeters, String[] names, String[] results) {
+        for (int i = 0; i < greeters.length; i++) results[i] = greeters[i].greet(names[i]);
+        return results;
+    }
+
+    static String[] java8GreetCasual(com.ps.java8.s02.Greeter[] greeters, String[] names, String[] results) {
+        for (int i = 0; i < greeters.length; i++) results[i] = greeters[i].greetCasual(names[i]);
+        return results;
+    }
+
+    static int java8GreetTo(com.ps.java8.s02.Greeter[] greeters, String[] names, StringBuilder out) {
+        int n = 0;
+        for (int i = 0; i < greeters.length; i++) {
+            var g = greeters[i];
+            out.setLength(0);
+            n += g.greetTo(out, names[i]).length();
+        }
+        return n;
+    }
+
+    static String[] java21Greet(com.ps.java21.s02.Greeter[] greeters, String[] names, String[] results) {
+        for (int i = 0; i < greeters.length; i++) results[i] = greeters[i].greet(names[i]);
+        return results;
+    }
+
+    static String[] java21GreetCasual(com.ps.java21.s02.Greeter[] greeters, String[] names, String[] results) {
+        for (int i = 0; i < greeters.length; i++) results[i] = greeters[i].greetCasual(names[i]);
+        return results;
+    }
+
+    static int java21GreetTo(com.ps.java21.s02.Greeter[] greeters, String[] names, StringBuilder out) {
+        int n = 0;
+        for (int i = 0; i < greeters.length; i++) {
+            var g = greeters[i];
+            out.setLength(0);
+            n += g.greetTo(out, names[i]).length();
+        }
+        return n;
+    }
+
+    static String[] kotlinGreet(com.ps.kotlin.s02.Greeter[] greeters, String[] names, String[] results) {
+        for (int i = 0; i < greeters.length; i++) results[i] = greeters[i].greet(names[i]);
+        return results;
+    }
+
+    static String[] kotlinGreetCasual(com.ps.kotlin.s02.Greeter[] greeters, String[] names, String[] results) {
+        for (int i = 0; i < greeters.length; i++) results[i] = greeters[i].greetCasual(names[i]);
+        return results;
+    }
+
+    static int kotlinGreetTo(com.ps.kotlin.s02.Greeter[] greeters, String[] names, StringBuilder out) {
+        int n = 0;
+        for (int i = 0; i < greeters.length; i++) {
+            var g = greeters[i];
+            out.setLength(0);
+            g.greetTo(out, names[i]);
+            n += out.length();
+        }
+        return n;
+    }
+
+    // Implémentations « générées »: même forme que ConsoleGreeter, une salutation par classe
+
+    static final class Java8Greeter0 implements com.ps.java8.s02.Greeter {
+        public String greet(String name) { return "Hello " + name; }
+        public StringBuilder greetTo(StringBuilder out, CharSequence name) { return out.append("Hello ").append(name); }
+    }
+
+    static final class Java8Greeter1 implements com.ps.java8.s02.Greeter {
+        public String greet(String name) { return "Bonjour " + name; }
+        public StringBuilder greetTo(StringBuilder out, CharSequence name) { return out.append("Bonjour ").append(name); }
+    }
+
+    static final class Java8Greeter2 implements com.ps.java8.s02.Greeter {
+        public String greet(String name) { return "Hola " + name; }
+        public StringBuilder greetTo(StringBuilder out, CharSequence name) { return out.append("Hola ").append(name); }
+    }
+
+    static final class Java8Greeter3 implements com.ps.java8.s02.Greeter {
+        public String greet(String name) { return "Hallo " + name; }
+        public StringBuilder greetTo(StringBuilder out, CharSequence name) { return out.append("Hallo ").append(name); }
+    }
+
+    static final class Java8Greeter4 implements com.ps.java8.s02.Greeter {
+        public String greet(String name) { return "Ciao " + name; }
+        public StringBuilder greetTo(StringBuilder out, CharSequence name) { return out.append("Ciao ").append(name); }
+    }
+
+    static final class Java8Greeter5 implements com.ps.java8.s02.Greeter {
+        public String greet(String name) { return "Olá " + name; }
+        public StringBuilder greetTo(StringBuilder out, CharSequence name) { return out.append("Olá ").append(name); }
+    }
+
+    static final class Java8Greeter6 implements com.ps.java8.s02.Greeter {
+        public String greet(String name) { return "Hej " + name; }
+        public StringBuilder greetTo(StringBuilder out, CharSequence name) { return out.append("Hej ").append(name); }
+    }
+
+    static final class Java8Greeter7 implements com.ps.java8.s02.Greeter {
+        public String greet(String name) { return "Ahoj " + name; }
+        public StringBuilder greetTo(StringBuilder out, CharSequence name) { return out.append("Ahoj ").append(name); }
+    }
+
+    static final class Java21Greeter0 implements com.ps.java21.s02.Greeter {
+        public String greet(String name) { return "Hello " + name; }
+        public StringBuilder greetTo(StringBuilder out, CharSequence name) { return out.append("Hello ").append(name); }
+    }
+
+    static final class Java21Greeter1 implements com.ps.java21.s02.Greeter {
+        public String greet(String name) { return "Bonjour " + name; }
+        public StringBuilder greetTo(StringBuilder out, CharSequence name) { return out.append("Bonjour ").append(name); }
+    }
+
+    static final class Java21Greeter2 implements com.ps.java21.s02.Greeter {
+        public String greet(String name) { return "Hola " + name; }
+        public StringBuilder greetTo(StringBuilder out, CharSequence name) { return out.append("Hola ").append(name); }
+    }
+
+    static final class Java21Greeter3 implements com.ps.java21.s02.Greeter {
+        public String greet(String name) { return "Hallo " + name; }
+        public StringBuilder greetTo(StringBuilder out, CharSequence name) { return out.append("Hallo ").append(name); }
+    }
+
+    static final class Java21Greeter4 implements com.ps.java21.s02.Greeter {
+        public String greet(String name) { return "Ciao " + name; }
+        public StringBuilder greetTo(StringBuilder out, CharSequence name) { return out.append("Ciao ").append(name); }
+    }
+
+    static final class Java21Greeter5 implements com.ps.java21.s02.Greeter {
+        public String greet(String name) { return "Olá " + name; }
+        public StringBuilder greetTo(StringBuilder out, CharSequence name) { return out.append("Olá ").append(name); }
+    }
+
+    static final class Java21Greeter6 implements com.ps.java21.s02.Greeter {
+        public String greet(String name) { return "Hej " + name; }
+        public StringBuilder greetTo(StringBuilder out, CharSequence name) { return out.append("Hej ").append(name); }
+    }
+
+    static final class Java21Greeter7 implements com.ps.java21.s02.Greeter {
+        public String greet(String name) { return "Ahoj " + name; }
+        public StringBuilder greetTo(StringBuilder out, CharSequence name) { return out.append("Ahoj ").append(name); }
+    }
+}
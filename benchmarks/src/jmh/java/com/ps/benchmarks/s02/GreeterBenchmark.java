@@ -0,0 +1,82 @@
+package com.ps.benchmarks.s02;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GreeterBenchmark {
+
+    private String name = "Alice";
+
+    // Typés par l'interface: on mesure l'appel tel qu'un client l'écrit
+    private com.ps.java8.s02.Greeter java8 = new com.ps.java8.s02.ConsoleGreeter();
+    private com.ps.java21.s02.Greeter java21 = new com.ps.java21.s02.ConsoleGreeter();
+    private com.ps.kotlin.s02.Greeter kotlin = new com.ps.kotlin.s02.ConsoleGreeter();
+
+    @Benchmark
+    public String java8Greet() { return java8.greet(name); }
+
+    @Benchmark
+    public String java21Greet() { return java21.greet(name); }
+
+    @Benchmark
+    public String kotlinGreet() { return kotlin.greet(name); }
+
+    @Benchmark
+    public String java8GreetCasual() { return java8.greetCasual(name); }
+
+    @Benchmark
+    public String java21GreetCasual() { return java21.greetCasual(name); }
+
+    @Benchmark
+    public String kotlinGreetCasual() { return kotlin.greetCasual(name); }
+
+    // Rendu dans un tampon réutilisé: gc.alloc.rate.norm doit rester à ~0 B/op
+    private final StringBuilder buffer = new StringBuilder(64);
+
+    @Benchmark
+    public int java8GreetTo() {
+        buffer.setLength(0);
+        return java8.greetTo(buffer, name).length();
+    }
+
+    @Benchmark
+    public int java21GreetTo() {
+        buffer.setLength(0);
+        return java21.greetTo(buffer, name).length();
+    }
+
+    @Benchmark
+    public int kotlinGreetTo() {
+        buffer.setLength(0);
+        kotlin.greetTo(buffer, name);
+        return buffer.length();
+    }
+
+    @Benchmark
+    public int java8GreetCasualTo() {
+        buffer.setLength(0);
+        return java8.greetCasualTo(buffer, name).length();
+    }
+
+    @Benchmark
+    public int java21GreetCasualTo() {
+        buffer.setLength(0);
+        return java21.greetCasualTo(buffer, name).length();
+    }
+
+    @Benchmark
+    public int kotlinGreetCasualTo() {
+        buffer.setLength(0);
+        kotlin.greetCasualTo(buffer, name);
+        return buffer.length();
+    }
+}
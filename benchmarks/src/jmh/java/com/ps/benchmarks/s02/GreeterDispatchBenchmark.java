@@ -0,0 +1,81 @@
+package com.ps.benchmarks.s02;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coût d'un appel d'interface selon le nombre de classes vues au site d'appel:
+ * types = 1 (monomorphe), 2 (bimorphe), 3 et 8 (mégamorphe). greet et greetTo sont redéfinies
+ * dans chaque implémentation, greetCasual est la méthode par défaut de l'interface.
+ * Chaque valeur de types tourne dans son propre fork: les profils ne se mélangent pas.
+ * Décisions d'inlining de C2 pour les mêmes sites: ./gradlew :benchmarks:dispatchInliningReport
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GreeterDispatchBenchmark {
+
+    @Param({"1", "2", "3", "8"})
+    public int types;
+
+    private final String[] names = DispatchWorkload.names();
+    private final String[] results = new String[DispatchWorkload.RECEIVERS];
+    private final StringBuilder out = new StringBuilder(64);
+
+    private com.ps.java8.s02.Greeter[] java8;
+    private com.ps.java21.s02.Greeter[] java21;
+    private com.ps.kotlin.s02.Greeter[] kotlin;
+
+    @Setup
+    public void setUp() {
+        java8 = DispatchWorkload.java8(types);
+        java21 = DispatchWorkload.java21(types);
+        kotlin = DispatchWorkload.kotlin(types);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DispatchWorkload.RECEIVERS)
+    public String[] java8Greet() { return DispatchWorkload.java8Greet(java8, names, results); }
+
+    @Benchmark
+    @OperationsPerInvocation(DispatchWorkload.RECEIVERS)
+    public String[] java21Greet() { return DispatchWorkload.java21Greet(java21, names, results); }
+
+    @Benchmark
+    @OperationsPerInvocation(DispatchWorkload.RECEIVERS)
+    public String[] kotlinGreet() { return DispatchWorkload.kotlinGreet(kotlin, names, results); }
+
+    @Benchmark
+    @OperationsPerInvocation(DispatchWorkload.RECEIVERS)
+    public String[] java8GreetCasual() { return DispatchWorkload.java8GreetCasual(java8, names, results); }
+
+    @Benchmark
+    @OperationsPerInvocation(DispatchWorkload.RECEIVERS)
+    public String[] java21GreetCasual() { return DispatchWorkload.java21GreetCasual(java21, names, results); }
+
+    @Benchmark
+    @OperationsPerInvocation(DispatchWorkload.RECEIVERS)
+    public String[] kotlinGreetCasual() { return DispatchWorkload.kotlinGreetCasual(kotlin, names, results); }
+
+    // Corps sans allocation: la part du dispatch dans le temps mesuré est la plus visible
+    @Benchmark
+    @OperationsPerInvocation(DispatchWorkload.RECEIVERS)
+    public int java8GreetTo() { return DispatchWorkload.java8GreetTo(java8, names, out); }
+
+    @Benchmark
+    @OperationsPerInvocation(DispatchWorkload.RECEIVERS)
+    public int java21GreetTo() { return DispatchWorkload.java21GreetTo(java21, names, out); }
+
+    @Benchmark
+    @OperationsPerInvocation(DispatchWorkload.RECEIVERS)
+    public int kotlinGreetTo() { return DispatchWorkload.kotlinGreetTo(kotlin, names, out); }
+}
@@ -0,0 +1,83 @@
+package com.ps.benchmarks.s02;
+
+import com.ps.java21.s02.ConsoleGreeter;
+import com.ps.java21.s02.Greeter;
+import com.ps.java21.s02.GreeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Choix du greeter par clé puis salutation, 16 greeters, noms tirés à 90 % parmi 100 noms
+ * fréquents et à 10 % dans une longue traîne. GreeterRegistry avec et sans mémo vs
+ * ConcurrentHashMap&lt;String, Greeter&gt;. Le taux de hits du mémo est affiché en fin d'essai.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GreeterRegistryBenchmark {
+
+    private static final int GREETERS = 16;
+    private static final int REQUESTS = 1 << 16;
+
+    @Param({ "0", "1024" })
+    private int memoCapacity;
+
+    private GreeterRegistry registry;
+    private ConcurrentHashMap<String, Greeter> concurrentMap;
+    private String[] keys;
+    private String[] names;
+    private int next;
+
+    @Setup
+    public void setup() {
+        registry = new GreeterRegistry(memoCapacity);
+        concurrentMap = new ConcurrentHashMap<>();
+        for (int i = 0; i < GREETERS; i++) {
+            String prefix = "Hello-" + i + " ";
+            Greeter greeter = i == 0 ? new ConsoleGreeter() : name -> prefix + name;
+            registry.register("locale-" + i, greeter);
+            concurrentMap.put("locale-" + i, greeter);
+        }
+        var random = new SplittableRandom(42);
+        keys = new String[REQUESTS];
+        names = new String[REQUESTS];
+        for (int i = 0; i < REQUESTS; i++) {
+            keys[i] = "locale-" + random.nextInt(GREETERS);
+            names[i] = random.nextInt(10) < 9 ? "hot-" + random.nextInt(100) : "tail-" + random.nextInt(1_000_000);
+        }
+    }
+
+    @TearDown
+    public void report() {
+        if (memoCapacity > 0) System.out.println("\n" + registry.stats() + " hitRate=" + registry.stats().hitRate());
+    }
+
+    @Benchmark
+    public String registryGreet() {
+        int i = next++ & (REQUESTS - 1);
+        return registry.greet(keys[i], names[i]);
+    }
+
+    @Benchmark
+    public String concurrentHashMapGreet() {
+        int i = next++ & (REQUESTS - 1);
+        return concurrentMap.get(keys[i]).greet(names[i]);
+    }
+
+    @Benchmark
+    public Greeter registryLookup() { return registry.greeter(keys[next++ & (REQUESTS - 1)]); }
+
+    @Benchmark
+    public Greeter concurrentHashMapLookup() { return concurrentMap.get(keys[next++ & (REQUESTS - 1)]); }
+}
@@ -0,0 +1,66 @@
+package com.ps.benchmarks.s02;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Salutation rendue en octets UTF-8 dans un ByteBuffer réutilisé:
+ * greetTo(ByteBuffer, name) vs greet(name).getBytes(UTF_8).
+ * "Chloé" sort du chemin ASCII et passe par l'encodage caractère par caractère.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GreetingBytesBenchmark {
+
+    @Param({ "Alice", "Chloé" })
+    private String name;
+
+    @Param({ "heap", "direct" })
+    private String buffer;
+
+    private ByteBuffer out;
+
+    private com.ps.java8.s02.Greeter java8 = new com.ps.java8.s02.ConsoleGreeter();
+    private com.ps.java21.s02.Greeter java21 = new com.ps.java21.s02.ConsoleGreeter();
+    private com.ps.kotlin.s02.Greeter kotlin = new com.ps.kotlin.s02.ConsoleGreeter();
+
+    @Setup
+    public void setup() {
+        out = buffer.equals("heap") ? ByteBuffer.allocate(256) : ByteBuffer.allocateDirect(256);
+    }
+
+    @Benchmark
+    public int java21GetBytes() {
+        out.clear();
+        return out.put(java21.greet(name).getBytes(StandardCharsets.UTF_8)).position();
+    }
+
+    @Benchmark
+    public int java8GreetTo() {
+        out.clear();
+        return java8.greetTo(out, name).position();
+    }
+
+    @Benchmark
+    public int java21GreetTo() {
+        out.clear();
+        return java21.greetTo(out, name).position();
+    }
+
+    @Benchmark
+    public int kotlinGreetTo() {
+        out.clear();
+        return kotlin.greetTo(out, name).position();
+    }
+}
@@ -0,0 +1,105 @@
+package com.ps.benchmarks.s02;
+
+import com.ps.java21.s02.ConsoleGreeter;
+import com.ps.java21.s02.Greeter;
+import com.ps.java21.s02.GreetingSink;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Un lot de salutations écrit dans un fichier: boucle println (PrintStream autoflush,
+ * comme System.out) vs GreetingSink. Score en salutations/s, "megabytes" en Mo/s.
+ * Le fichier est tronqué à chaque itération.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(GreetingSinkBenchmark.NAMES)
+public class GreetingSinkBenchmark {
+
+    static final int NAMES = 100_000;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Throughput {
+        public double megabytes;
+    }
+
+    private final Greeter greeter = new ConsoleGreeter();
+    private String[] names;
+    private double batchMegabytes;
+    private Path file;
+    private FileChannel channel;
+    private PrintStream printStream;
+    private GreetingSink whenFull;
+    private GreetingSink everyLine;
+
+    @Setup
+    public void setup() throws IOException {
+        names = new String[NAMES];
+        long bytes = 0;
+        for (int i = 0; i < NAMES; i++) {
+            names[i] = "user-" + i;
+            bytes += greeter.greet(names[i]).length() + 1;
+        }
+        batchMegabytes = bytes / 1e6;
+        file = Files.createTempFile("greetings", ".txt");
+    }
+
+    @Setup(Level.Iteration)
+    public void open() throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        // Même configuration que System.out: tampon de 8 Ko, flush à chaque println
+        printStream = new PrintStream(new BufferedOutputStream(new FileOutputStream(file.toFile()), 8192), true);
+        whenFull = new GreetingSink(channel, greeter, GreetingSink.DEFAULT_BUFFER_SIZE, GreetingSink.FlushPolicy.WHEN_FULL);
+        everyLine = new GreetingSink(channel, greeter, GreetingSink.DEFAULT_BUFFER_SIZE, GreetingSink.FlushPolicy.EVERY_LINE);
+    }
+
+    @TearDown(Level.Iteration)
+    public void close() throws IOException {
+        whenFull.close();
+        everyLine.close();
+        printStream.close();
+    }
+
+    @TearDown
+    public void delete() throws IOException { Files.deleteIfExists(file); }
+
+    @Benchmark
+    public void printlnLoop(Throughput t) {
+        for (String name : names) printStream.println(greeter.greet(name));
+        t.megabytes += batchMegabytes;
+    }
+
+    @Benchmark
+    public void sinkWhenFull(Throughput t) throws IOException {
+        for (String name : names) whenFull.greet(name);
+        whenFull.flush();
+        t.megabytes += batchMegabytes;
+    }
+
+    @Benchmark
+    public void sinkEveryLine(Throughput t) throws IOException {
+        for (String name : names) everyLine.greet(name);
+        t.megabytes += batchMegabytes;
+    }
+}
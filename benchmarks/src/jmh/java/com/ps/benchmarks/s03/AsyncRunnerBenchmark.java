@@ -0,0 +1,76 @@
+package com.ps.benchmarks.s03;
+
+import com.ps.java21.s03.AsyncRunner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Blocs withValue dominés par l'I/O (attente simulée par sleep): valeurs traitées par seconde,
+ * AsyncRunner.withValuesAsync (threads virtuels, au plus 1 000 blocs à la fois) contre
+ * supplyAsync sur un pool fixe de threads plateforme, résultats relus dans l'ordre.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class AsyncRunnerBenchmark {
+
+    private static final int VALUES = 1_000;
+    private static final int POOL_SIZE = 64;
+
+    @Param({"1", "10"})
+    public int latencyMillis;
+
+    private final List<Integer> values = new ArrayList<>();
+    private ExecutorService pool;
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < VALUES; i++) values.add(i);
+        pool = Executors.newFixedThreadPool(POOL_SIZE);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdownNow();
+    }
+
+    private String io(int value) {
+        try {
+            Thread.sleep(latencyMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "val=" + value;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public List<String> virtualThreads() {
+        return AsyncRunner.withValuesAsync(values, this::io).join();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public List<String> platformPool() {
+        var futures = new ArrayList<CompletableFuture<String>>(VALUES);
+        for (Integer v : values) futures.add(CompletableFuture.supplyAsync(() -> io(v), pool));
+        var results = new ArrayList<String>(VALUES);
+        for (var f : futures) results.add(f.join());
+        return results;
+    }
+}
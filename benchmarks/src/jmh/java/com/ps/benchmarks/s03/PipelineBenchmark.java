@@ -0,0 +1,59 @@
+package com.ps.benchmarks.s03;
+
+import com.ps.java21.s03.Pipeline;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Huit étapes withValue par valeur: pas à pas (Runner.withValue), Function.andThen, chaîne
+ * fusionnée en classe cachée, et la même chaîne de withValue inline en Kotlin (référence).
+ * Huit lambdas distinctes: les sites d'appel partagés (boucle de apply, lambda d'andThen)
+ * sont mégamorphes, comme dans un programme qui a plusieurs pipelines.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PipelineBenchmark {
+
+    private Pipeline<Integer, Integer> pipeline;
+    private Function<Integer, Integer> composed;
+    private Function<Integer, Integer> fused;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        pipeline = Pipeline.<Integer>start()
+                .then(x -> x + 1)
+                .then(x -> x * 3)
+                .then(x -> x ^ 0x5f)
+                .then(x -> x >>> 1)
+                .then(x -> x - 7)
+                .then(x -> x * x)
+                .then(x -> x & 0xffff)
+                .then(x -> x | 1);
+        composed = pipeline.composed();
+        fused = pipeline.fuse();
+    }
+
+    private int nextValue() { return next = (next + 1) & 1023; }
+
+    @Benchmark
+    public Integer java21Apply() { return pipeline.apply(nextValue()); }
+
+    @Benchmark
+    public Integer java21AndThen() { return composed.apply(nextValue()); }
+
+    @Benchmark
+    public Integer java21Fused() { return fused.apply(nextValue()); }
+
+    @Benchmark
+    public int kotlinInline() { return KotlinCallSitesKt.kotlinPipeline(nextValue()); }
+}
@@ -0,0 +1,87 @@
+package com.ps.benchmarks.s03;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RunnerBenchmark {
+
+    private int value = 42;
+
+    @Benchmark
+    public String java8WithValue() {
+        return com.ps.java8.s03.Runner.withValue(value, v -> "val=" + v);
+    }
+
+    @Benchmark
+    public String java21WithValue() {
+        return com.ps.java21.s03.Runner.withValue(value, v -> "val=" + v);
+    }
+
+    @Benchmark
+    public String kotlinWithValue() {
+        // Le site d'appel doit être en Kotlin pour que `inline` s'applique
+        return KotlinCallSitesKt.kotlinWithValue(value);
+    }
+
+    // Hors du cache Integer (-128..127): Integer.valueOf alloue réellement
+    private int uncached = 1_000_000;
+
+    @Benchmark
+    public String java8WithValueUncached() {
+        return com.ps.java8.s03.Runner.withValue(uncached, v -> "val=" + v);
+    }
+
+    @Benchmark
+    public String java8WithInt() {
+        return com.ps.java8.s03.Runner.withInt(uncached, v -> "val=" + v);
+    }
+
+    @Benchmark
+    public int java8WithValueArithmetic() {
+        return com.ps.java8.s03.Runner.<Integer, Integer>withValue(uncached, v -> v * 31 + 7);
+    }
+
+    @Benchmark
+    public int java8WithIntAsInt() {
+        return com.ps.java8.s03.Runner.withIntAsInt(uncached, v -> v * 31 + 7);
+    }
+
+    @Benchmark
+    public String java21WithValueUncached() {
+        return com.ps.java21.s03.Runner.withValue(uncached, v -> "val=" + v);
+    }
+
+    @Benchmark
+    public String java21WithInt() {
+        return com.ps.java21.s03.Runner.withInt(uncached, v -> "val=" + v);
+    }
+
+    @Benchmark
+    public int java21WithValueArithmetic() {
+        return com.ps.java21.s03.Runner.<Integer, Integer>withValue(uncached, v -> v * 31 + 7);
+    }
+
+    @Benchmark
+    public int java21WithIntAsInt() {
+        return com.ps.java21.s03.Runner.withIntAsInt(uncached, v -> v * 31 + 7);
+    }
+
+    @Benchmark
+    public String kotlinWithValueUncached() {
+        return KotlinCallSitesKt.kotlinWithValue(uncached);
+    }
+
+    @Benchmark
+    public int kotlinWithValueArithmetic() {
+        return KotlinCallSitesKt.kotlinWithValueArithmetic(uncached);
+    }
+}
@@ -0,0 +1,135 @@
+package com.ps.benchmarks.s03;
+
+import com.ps.java21.s03.WithValueProcessor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Flux SubmissionPublisher -> WithValueProcessor -> abonné lent (travail CPU par élément,
+ * demande par paquets de 16): éléments/s, et nombre maximal d'éléments reçus par le processor
+ * sans avoir été consommés (affiché au TearDown, borné par le prefetch).
+ * noProcessor: le bloc appliqué directement dans l'abonné, pour référence.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class WithValueProcessorBenchmark {
+
+    private static final int ITEMS = 10_000;
+    private static final int PREFETCH = 64;
+    private static final int REQUEST = 16;
+
+    private static final Function<Integer, Long> BLOCK = v -> {
+        Blackhole.consumeCPU(50);
+        return v * 31L;
+    };
+
+    private final AtomicLong maxInFlight = new AtomicLong();
+
+    @TearDown
+    public void report() {
+        System.out.println();
+        System.out.println("max in flight: " + maxInFlight.get() + " (prefetch " + PREFETCH + ")");
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEMS)
+    public long processorSequential() throws InterruptedException {
+        return run(new WithValueProcessor<>(BLOCK, PREFETCH));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEMS)
+    public long processorParallel() throws InterruptedException {
+        return run(new WithValueProcessor<>(BLOCK, PREFETCH, 4, 16, null));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEMS)
+    public long noProcessor() throws InterruptedException {
+        var subscriber = new SlowSubscriber(new AtomicLong());
+        try (var source = new SubmissionPublisher<Integer>()) {
+            source.subscribe(new Flow.Subscriber<>() {
+                @Override public void onSubscribe(Flow.Subscription s) { subscriber.onSubscribe(s); }
+                @Override public void onNext(Integer item) { subscriber.onNext(BLOCK.apply(item)); }
+                @Override public void onError(Throwable t) { subscriber.onError(t); }
+                @Override public void onComplete() { subscriber.onComplete(); }
+            });
+            for (int i = 0; i < ITEMS; i++) source.submit(i);
+        }
+        subscriber.done.await();
+        return subscriber.sum;
+    }
+
+    private long run(WithValueProcessor<Integer, Long> processor) throws InterruptedException {
+        var received = new AtomicLong();
+        var subscriber = new SlowSubscriber(received);
+        processor.subscribe(subscriber);
+        try (var source = new SubmissionPublisher<Integer>()) {
+            // Compte ce que le processor reçoit de l'amont
+            source.subscribe(new Flow.Subscriber<>() {
+                @Override public void onSubscribe(Flow.Subscription s) { processor.onSubscribe(s); }
+                @Override public void onNext(Integer item) { received.incrementAndGet(); processor.onNext(item); }
+                @Override public void onError(Throwable t) { processor.onError(t); }
+                @Override public void onComplete() { processor.onComplete(); }
+            });
+            for (int i = 0; i < ITEMS; i++) source.submit(i);
+        }
+        subscriber.done.await();
+        maxInFlight.accumulateAndGet(subscriber.maxInFlight, Math::max);
+        return subscriber.sum;
+    }
+
+    private static final class SlowSubscriber implements Flow.Subscriber<Long> {
+        final CountDownLatch done = new CountDownLatch(1);
+        final AtomicLong received;
+        Flow.Subscription subscription;
+        long sum;
+        long count;
+        long maxInFlight;
+        int outstanding;
+
+        SlowSubscriber(AtomicLong received) { this.received = received; }
+
+        @Override
+        public void onSubscribe(Flow.Subscription s) {
+            subscription = s;
+            outstanding = REQUEST;
+            s.request(REQUEST);
+        }
+
+        @Override
+        public void onNext(Long item) {
+            Blackhole.consumeCPU(200);
+            sum += item;
+            maxInFlight = Math.max(maxInFlight, received.get() - ++count);
+            if (--outstanding == 0) {
+                outstanding = REQUEST;
+                subscription.request(REQUEST);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            t.printStackTrace();
+            done.countDown();
+        }
+
+        @Override
+        public void onComplete() { done.countDown(); }
+    }
+}
@@ -0,0 +1,86 @@
+package com.ps.benchmarks.s04;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.openjdk.jmh.runner.options.VerboseMode;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Incréments concurrents sur un compteur partagé par tous les threads du benchmark.
+ * Débit total (ops/µs, tous threads confondus) de 1 à N threads:
+ * ./gradlew :benchmarks:counterContention [--args="64"]
+ * (ou un seul point: ./gradlew :benchmarks:jmh -PjmhIncludes=ConcurrentCounter, avec -t dans JMH)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ConcurrentCounterBenchmark {
+
+    private final com.ps.java8.s04.AtomicCounter java8Atomic = new com.ps.java8.s04.AtomicCounter();
+    private final com.ps.java8.s04.StripedCounter java8Striped = new com.ps.java8.s04.StripedCounter();
+    private final com.ps.java8.s04.NonNegativeCounter java8NonNegative = new com.ps.java8.s04.NonNegativeCounter();
+    private final com.ps.kotlin.s04.AtomicCounter kotlinAtomic = new com.ps.kotlin.s04.AtomicCounter();
+    private final com.ps.kotlin.s04.StripedCounter kotlinStriped = new com.ps.kotlin.s04.StripedCounter();
+    private final com.ps.kotlin.s04.NonNegativeCounter kotlinNonNegative = new com.ps.kotlin.s04.NonNegativeCounter();
+
+    @Benchmark
+    public void java8Atomic() { java8Atomic.increment(); }
+
+    @Benchmark
+    public void java8Striped() { java8Striped.increment(); }
+
+    // Boucle compareAndSet: sous contention, les échecs de CAS se paient en tentatives
+    @Benchmark
+    public void java8NonNegative() { java8NonNegative.increment(); }
+
+    @Benchmark
+    public void kotlinAtomic() { kotlinAtomic.increment(); }
+
+    @Benchmark
+    public void kotlinStriped() { kotlinStriped.increment(); }
+
+    @Benchmark
+    public void kotlinNonNegative() { kotlinNonNegative.increment(); }
+
+    public static void main(String[] args) throws RunnerException {
+        int maxThreads = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        Map<String, Map<Integer, Double>> table = new TreeMap<>();
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            var options = new OptionsBuilder()
+                    .include(ConcurrentCounterBenchmark.class.getName())
+                    .threads(threads)
+                    .forks(1)
+                    .warmupIterations(2)
+                    .warmupTime(TimeValue.seconds(1))
+                    .measurementIterations(3)
+                    .measurementTime(TimeValue.seconds(1))
+                    .verbosity(VerboseMode.SILENT)
+                    .build();
+            for (RunResult result : new Runner(options).run()) {
+                String label = result.getParams().getBenchmark();
+                label = label.substring(label.lastIndexOf('.') + 1);
+                table.computeIfAbsent(label, k -> new TreeMap<>()).put(threads, result.getPrimaryResult().getScore());
+            }
+        }
+        System.out.printf("%-20s", "ops/µs \\ threads");
+        table.values().iterator().next().keySet().forEach(t -> System.out.printf("%10d", t));
+        System.out.println();
+        table.forEach((label, scores) -> {
+            System.out.printf("%-20s", label);
+            scores.values().forEach(score -> System.out.printf("%10.1f", score));
+            System.out.println();
+        });
+    }
+}
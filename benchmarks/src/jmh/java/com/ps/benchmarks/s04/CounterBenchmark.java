@@ -0,0 +1,34 @@
+package com.ps.benchmarks.s04;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+// Pas de variante Java 21 pour s04: le README renvoie à Java 8
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CounterBenchmark {
+
+    private int next;
+    private com.ps.java8.s04.Counter java8 = new com.ps.java8.s04.Counter();
+    private com.ps.kotlin.s04.Counter kotlin = new com.ps.kotlin.s04.Counter();
+
+    @Benchmark
+    public int java8SetGet() {
+        java8.setValue(next++ & 1023);
+        return java8.getValue();
+    }
+
+    @Benchmark
+    public int kotlinSetGet() {
+        // Le setter Kotlin valide value >= 0 à chaque écriture
+        kotlin.setValue(next++ & 1023);
+        return kotlin.getValue();
+    }
+}
@@ -0,0 +1,71 @@
+package com.ps.benchmarks.s04;
+
+import com.ps.java8.s04.LatencyHistogram;
+import com.ps.java8.s10.Amount;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coût de LatencyHistogram.record sous contention (4 threads, latences log-normales variées):
+ * une rangée de seaux par thread (4 rangées, attribuées à tour de rôle) contre une seule rangée
+ * partagée (stripes = 1).
+ * Le plancher est l'incrément atomique lui-même (lock xadd, comme AtomicLong.incrementAndGet).
+ * Avec moins de 4 cœurs, les threads se partagent le CPU et le temps par opération gonfle d'autant
+ * (-t 1 pour le coût seul). Puis le coût complet d'une mesure autour d'un appel chaud (Amount.plus):
+ * deux System.nanoTime + record.
+ * ./gradlew :benchmarks:jmh -PjmhIncludes=LatencyHistogram
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LatencyHistogramBenchmark {
+
+    private static final int SAMPLES = 1024;
+
+    private final LatencyHistogram striped = new LatencyHistogram(LatencyHistogram.DEFAULT_PRECISION_BITS, 4);
+    private final LatencyHistogram shared = new LatencyHistogram(LatencyHistogram.DEFAULT_PRECISION_BITS, 1);
+    private final LatencyHistogram plusLatency = new LatencyHistogram();
+    private final long[] samples = new long[SAMPLES];
+    private final Amount a = new Amount(new BigDecimal("10.50"), "EUR");
+    private final Amount b = new Amount(new BigDecimal("2"), "EUR");
+
+    public LatencyHistogramBenchmark() {
+        Random random = new Random(42);
+        for (int i = 0; i < SAMPLES; i++) samples[i] = (long) Math.exp(random.nextGaussian() + 7);  // ~1 µs
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+
+        int next() { return next++ & (SAMPLES - 1); }
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void recordStriped(Cursor cursor) { striped.record(samples[cursor.next()]); }
+
+    @Benchmark
+    @Threads(4)
+    public void recordShared(Cursor cursor) { shared.record(samples[cursor.next()]); }
+
+    @Benchmark
+    public Amount plus() { return a.plus(b); }
+
+    @Benchmark
+    public Amount plusRecorded() {
+        long start = System.nanoTime();
+        Amount sum = a.plus(b);
+        plusLatency.recordSince(start);
+        return sum;
+    }
+}
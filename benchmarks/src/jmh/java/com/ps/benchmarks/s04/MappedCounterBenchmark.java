@@ -0,0 +1,62 @@
+package com.ps.benchmarks.s04;
+
+import com.ps.java21.s04.CounterFile;
+import com.ps.java21.s04.MappedCounter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Incrément d'un compteur persistant (CounterFile: getAndAdd par VarHandle sur un MappedByteBuffer)
+ * contre un AtomicLong dans le tas. Même instruction atomique des deux côtés (lock xadd sur x86):
+ * aucune écriture n'attend le disque, l'écart éventuel vient de l'accès au buffer (bornes, adresse).
+ * ./gradlew :benchmarks:jmh -PjmhIncludes=MappedCounter (contention: -t dans JMH)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MappedCounterBenchmark {
+
+    private final AtomicLong heap = new AtomicLong();
+    private Path path;
+    private CounterFile file;
+    private MappedCounter mapped;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        path = Files.createTempFile("counters", ".cnt");
+        Files.delete(path);
+        file = CounterFile.open(path, 16);
+        mapped = file.counter("bench.increments");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        file.close();
+        Files.deleteIfExists(path);
+    }
+
+    @Benchmark
+    public void atomicLongIncrement() { heap.incrementAndGet(); }
+
+    @Benchmark
+    public void mappedIncrement() { mapped.increment(); }
+
+    @Benchmark
+    public long atomicLongRead() { return heap.get(); }
+
+    @Benchmark
+    public long mappedRead() { return mapped.getValue(); }
+}
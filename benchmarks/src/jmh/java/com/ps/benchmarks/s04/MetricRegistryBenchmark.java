@@ -0,0 +1,105 @@
+package com.ps.benchmarks.s04;
+
+import com.ps.java8.s04.AtomicCounter;
+import com.ps.java8.s04.MetricRegistry;
+import com.ps.java8.s04.MonotonicCounter;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.URL;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Coût d'un incrément dans MetricRegistry, avec ou sans scraper Prometheus qui lit /metrics en boucle
+ * (vrai GET HTTP sur 127.0.0.1, 200 métriques). Le scrape ne prend aucun verrou côté écrivains:
+ * l'écart entre off et continuous ne doit venir que du CPU partagé, pas d'une attente.
+ * ./gradlew :benchmarks:jmh -PjmhIncludes=MetricRegistry (-prof gc: 0 B/op attendu hors lookup)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MetricRegistryBenchmark {
+
+    private static final int METRICS = 200;
+
+    @Param({"off", "continuous"})
+    public String scraper;
+
+    private final MetricRegistry registry = new MetricRegistry();
+    private MonotonicCounter requests;
+    private AtomicCounter inFlight;
+    private HttpServer server;
+    private Thread scrapeThread;
+    private final AtomicLong scrapes = new AtomicLong();
+    private volatile boolean running;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        requests = registry.counter("http_requests_total", "Requêtes reçues");
+        inFlight = registry.gauge("http_requests_in_flight", "Requêtes en cours");
+        for (int i = 2; i < METRICS; i++) registry.counter("filler_" + i + "_total", "Métrique de remplissage").add(i);
+        if (scraper.equals("off")) return;
+
+        server = registry.serve(0);
+        URL url = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/metrics").toURL();
+        running = true;
+        scrapeThread = new Thread(() -> {
+            byte[] buffer = new byte[8192];
+            while (running) {
+                try {
+                    HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+                    try (InputStream in = connection.getInputStream()) {
+                        while (in.read(buffer) >= 0) { }
+                    }
+                    scrapes.incrementAndGet();
+                } catch (IOException e) {
+                    if (running) throw new IllegalStateException(e);
+                }
+            }
+        }, "scraper");
+        scrapeThread.setDaemon(true);
+        scrapeThread.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        if (server == null) return;
+        running = false;
+        scrapeThread.join();
+        server.stop(0);
+        System.out.printf("%n%d scrapes, http_requests_total=%d%n", scrapes.get(), registry.snapshot().get("http_requests_total"));
+    }
+
+    // Chemin chaud recommandé: référence gardée, LongAdder.increment()
+    @Benchmark
+    public void counterIncrement() { requests.increment(); }
+
+    @Benchmark
+    public void gaugeUpDown() {
+        inFlight.increment();
+        inFlight.add(-1);
+    }
+
+    // À éviter sur le chemin chaud: ConcurrentHashMap.get à chaque incrément
+    @Benchmark
+    public void counterByName() { registry.counter("http_requests_total", "Requêtes reçues").increment(); }
+
+    // Côté scraper: rendu texte des 200 métriques, sans HTTP
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public String scrape() { return registry.scrape(); }
+}
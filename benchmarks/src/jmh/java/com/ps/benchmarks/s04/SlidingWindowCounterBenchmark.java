@@ -0,0 +1,88 @@
+package com.ps.benchmarks.s04;
+
+import com.ps.java8.s04.SlidingWindowCounter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * « Combien d'événements sur la dernière fenêtre? » sous écrivains concurrents:
+ * SlidingWindowCounter (anneau de 10 slots LongAdder) contre la solution naïve, une file de
+ * timestamps purgée à chaque appel. Par groupe: 3 threads qui incrémentent, 1 qui lit.
+ * La file garde un nœud par événement de la fenêtre (~40 B chacun) et sa lecture est O(n) (size()).
+ * ./gradlew :benchmarks:jmh -PjmhIncludes=SlidingWindowCounter (-prof gc pour les B/op)
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SlidingWindowCounterBenchmark {
+
+    private static final int SLOTS = 10;
+
+    @Param({"10", "100"})
+    public long windowMillis;
+
+    private SlidingWindowCounter window;
+    private TimestampQueueCounter queue;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        window = new SlidingWindowCounter(windowMillis, TimeUnit.MILLISECONDS, SLOTS);
+        queue = new TimestampQueueCounter(TimeUnit.MILLISECONDS.toNanos(windowMillis));
+    }
+
+    @Benchmark
+    @Group("window")
+    @GroupThreads(3)
+    public void windowIncrement() { window.increment(); }
+
+    @Benchmark
+    @Group("window")
+    @GroupThreads(1)
+    public long windowRead() { return window.getValue(); }
+
+    @Benchmark
+    @Group("queue")
+    @GroupThreads(3)
+    public void queueIncrement() { queue.increment(); }
+
+    @Benchmark
+    @Group("queue")
+    @GroupThreads(1)
+    public long queueRead() { return queue.getValue(); }
+
+    /** Un timestamp par événement, les plus vieux retirés en tête à chaque appel. */
+    static final class TimestampQueueCounter {
+        private final ConcurrentLinkedQueue<Long> events = new ConcurrentLinkedQueue<>();
+        private final long windowNanos;
+
+        TimestampQueueCounter(long windowNanos) { this.windowNanos = windowNanos; }
+
+        void increment() {
+            long now = System.nanoTime();
+            events.offer(now);
+            evict(now);
+        }
+
+        long getValue() {
+            evict(System.nanoTime());
+            return events.size();
+        }
+
+        private void evict(long now) {
+            // remove(head) et pas poll(): un autre thread a pu retirer head entre-temps
+            for (Long head; (head = events.peek()) != null && now - head > windowNanos; ) events.remove(head);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.ps.benchmarks.s05;
+
+import com.ps.java8.s05.NullSafetyExample;
+import com.ps.kotlin.s05.NullSafetyKt;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+// Pas de variante Java 21 pour s05
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class NullSafetyBenchmark {
+
+    private String present = "hello";
+    private String absent = null;
+
+    @Benchmark
+    public String java8SafeUpperPresent() { return NullSafetyExample.safeUpper(present); }
+
+    @Benchmark
+    public String kotlinSafeUpperPresent() { return NullSafetyKt.safeUpper(present); }
+
+    @Benchmark
+    public String java8SafeUpperAbsent() { return NullSafetyExample.safeUpper(absent); }
+
+    @Benchmark
+    public String kotlinSafeUpperAbsent() { return NullSafetyKt.safeUpper(absent); }
+
+    @Benchmark
+    public String java8RequireNonNullUpper() { return NullSafetyExample.requireNonNullUpper(present); }
+
+    @Benchmark
+    public String kotlinRequireNonNullUpper() { return NullSafetyKt.requireNonNullUpper(present); }
+}
@@ -0,0 +1,32 @@
+package com.ps.benchmarks.s06;
+
+import com.ps.java21.s06.StringExt;
+import com.ps.java8.s06.StringUtils;
+import com.ps.kotlin.s06.StringExtensionsKt;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SurroundBenchmark {
+
+    private String core = "core";
+    private String prefix = "[";
+    private String suffix = "]";
+
+    @Benchmark
+    public String java8Surround() { return StringUtils.surround(core, prefix, suffix); }
+
+    @Benchmark
+    public String java21Surround() { return StringExt.surround(core, prefix, suffix); }
+
+    @Benchmark
+    public String kotlinSurround() { return StringExtensionsKt.surround(core, prefix, suffix); }
+}
@@ -0,0 +1,51 @@
+package com.ps.benchmarks.s07;
+
+import com.ps.kotlin.s07.Result;
+import com.ps.kotlin.s07.SealedResultKt;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ResultBenchmark {
+
+    private Object java8Success, java8Error;
+    private Object java21Success, java21Error;
+    private Result<?> kotlinSuccess, kotlinError;
+
+    @Setup
+    public void setup() {
+        java8Success = com.ps.java8.s07.BenchmarkAccess.success("data");
+        java8Error = com.ps.java8.s07.BenchmarkAccess.error("boom");
+        java21Success = com.ps.java21.s07.BenchmarkAccess.success("data");
+        java21Error = com.ps.java21.s07.BenchmarkAccess.error("boom");
+        kotlinSuccess = new Result.Success<>("data");
+        kotlinError = new Result.Error("boom", null);
+    }
+
+    @Benchmark
+    public String java8RenderSuccess() { return com.ps.java8.s07.BenchmarkAccess.render(java8Success); }
+
+    @Benchmark
+    public String java21RenderSuccess() { return com.ps.java21.s07.BenchmarkAccess.render(java21Success); }
+
+    @Benchmark
+    public String kotlinRenderSuccess() { return SealedResultKt.render(kotlinSuccess); }
+
+    @Benchmark
+    public String java8RenderError() { return com.ps.java8.s07.BenchmarkAccess.render(java8Error); }
+
+    @Benchmark
+    public String java21RenderError() { return com.ps.java21.s07.BenchmarkAccess.render(java21Error); }
+
+    @Benchmark
+    public String kotlinRenderError() { return SealedResultKt.render(kotlinError); }
+}
@@ -0,0 +1,40 @@
+package com.ps.benchmarks.s08;
+
+import com.ps.java21.s08.ElvisExample21;
+import com.ps.java8.s08.ElvisExample;
+import com.ps.kotlin.s08.ElvisKt;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ElvisBenchmark {
+
+    private String nickname = null;
+    private String fullName = "Alice";
+
+    @Benchmark
+    public String java8DisplayName() { return ElvisExample.displayName(nickname, fullName); }
+
+    @Benchmark
+    public String java21DisplayName() { return ElvisExample21.displayName(nickname, fullName); }
+
+    @Benchmark
+    public String kotlinDisplayName() { return ElvisKt.displayName(nickname, fullName); }
+
+    @Benchmark
+    public String java8Required() { return ElvisExample.required(fullName); }
+
+    @Benchmark
+    public String java21Required() { return ElvisExample21.required(fullName); }
+
+    @Benchmark
+    public String kotlinRequired() { return ElvisKt.required(fullName); }
+}
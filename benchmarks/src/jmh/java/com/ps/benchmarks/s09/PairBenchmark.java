@@ -0,0 +1,37 @@
+package com.ps.benchmarks.s09;
+
+import com.ps.java21.s09.Pair;
+import com.ps.java8.s09.Pairing;
+import com.ps.kotlin.s09.InfixExamplesKt;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PairBenchmark {
+
+    private String currency = "EUR";
+    private Integer amount = 100;
+    private int rate = 15;
+    private int base = 200;
+
+    @Benchmark
+    public Map.Entry<String, Integer> java8Pairing() { return Pairing.to(currency, amount); }
+
+    @Benchmark
+    public Pair<String, Integer> java21Pair() { return new Pair<>(currency, amount); }
+
+    @Benchmark
+    public kotlin.Pair<String, Integer> kotlinToPair() { return InfixExamplesKt.toPair(currency, amount); }
+
+    @Benchmark
+    public int kotlinPercentOf() { return InfixExamplesKt.percentOf(rate, base); }
+}
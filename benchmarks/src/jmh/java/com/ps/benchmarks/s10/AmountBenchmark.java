@@ -0,0 +1,51 @@
+package com.ps.benchmarks.s10;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AmountBenchmark {
+
+    private int factor = 2;
+    private com.ps.java8.s10.Amount java8A, java8B;
+    private com.ps.java21.s10.Amount java21A, java21B;
+    private com.ps.kotlin.s10.Amount kotlinA, kotlinB;
+
+    @Setup
+    public void setup() {
+        java8A = new com.ps.java8.s10.Amount(new BigDecimal("10.50"), "EUR");
+        java8B = new com.ps.java8.s10.Amount(new BigDecimal("2"), "EUR");
+        java21A = new com.ps.java21.s10.Amount(new BigDecimal("10.50"), "EUR");
+        java21B = new com.ps.java21.s10.Amount(new BigDecimal("2"), "EUR");
+        kotlinA = new com.ps.kotlin.s10.Amount(new BigDecimal("10.50"), "EUR");
+        kotlinB = new com.ps.kotlin.s10.Amount(new BigDecimal("2"), "EUR");
+    }
+
+    @Benchmark
+    public com.ps.java8.s10.Amount java8Plus() { return java8A.plus(java8B); }
+
+    @Benchmark
+    public com.ps.java21.s10.Amount java21Plus() { return java21A.plus(java21B); }
+
+    @Benchmark
+    public com.ps.kotlin.s10.Amount kotlinPlus() { return kotlinA.plus(kotlinB); }
+
+    @Benchmark
+    public com.ps.java8.s10.Amount java8Times() { return java8A.times(factor); }
+
+    @Benchmark
+    public com.ps.java21.s10.Amount java21Times() { return java21A.times(factor); }
+
+    @Benchmark
+    public com.ps.kotlin.s10.Amount kotlinTimes() { return kotlinA.times(factor); }
+}
@@ -0,0 +1,42 @@
+package com.ps.benchmarks.s11;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Les exemples s11 ne vivent que dans des main(): on reprend ici la chaîne
+ * de chaque variante (LetLike, LetLike21, ScopeFunctionsLet).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LetBenchmark {
+
+    private String maybe = "kotlin";
+
+    @Benchmark
+    public String java8Optional() {
+        return Optional.ofNullable(maybe)
+                .map(String::toUpperCase)
+                .orElse("N/A");
+    }
+
+    @Benchmark
+    public String java21Optional() {
+        return Optional.ofNullable(maybe)
+                .map(String::strip)
+                .filter(s -> !s.isEmpty())
+                .map(String::toUpperCase)
+                .orElse("N/A");
+    }
+
+    @Benchmark
+    public String kotlinLet() { return KotlinCallSitesKt.kotlinLet(maybe); }
+}
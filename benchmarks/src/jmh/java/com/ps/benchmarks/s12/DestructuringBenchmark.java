@@ -0,0 +1,36 @@
+package com.ps.benchmarks.s12;
+
+import com.ps.java21.s12.Destructuring21;
+import com.ps.java8.s12.Destructuring;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DestructuringBenchmark {
+
+    @Benchmark
+    public int java8Getters() {
+        Destructuring.Pair<Integer, Integer> p = Destructuring.compute();
+        return p.getFirst() + p.getSecond();
+    }
+
+    @Benchmark
+    public int java21RecordPattern() {
+        Object obj = Destructuring21.compute();
+        if (obj instanceof Destructuring21.Pair(Integer x, Integer y)) {
+            return x + y;
+        }
+        return -1;
+    }
+
+    @Benchmark
+    public int kotlinComponentN() { return KotlinCallSitesKt.kotlinDestructure(); }
+}
@@ -0,0 +1,77 @@
+package com.ps.benchmarks.s13;
+
+import com.ps.kotlin.s13.Circle;
+import com.ps.kotlin.s13.Rectangle;
+import com.ps.kotlin.s13.Shape;
+import com.ps.kotlin.s13.Unknown;
+import com.ps.kotlin.s13.WhenExamplesKt;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WhenBenchmark {
+
+    // Les trois formes à chaque appel: le dispatch voit tous les types
+    private Object[] java8Shapes;
+    private Object[] java21Shapes;
+    private Shape[] kotlinShapes;
+    private int[] scores = { 95, 80, 67, 10, -1 };
+
+    @Setup
+    public void setup() {
+        java8Shapes = com.ps.java8.s13.BenchmarkAccess.shapes();
+        java21Shapes = com.ps.java21.s13.BenchmarkAccess.shapes();
+        kotlinShapes = new Shape[] { new Circle(2.0), new Rectangle(3.0, 4.0), new Unknown("?") };
+    }
+
+    @Benchmark
+    public double java8Area() {
+        double sum = 0;
+        for (Object s : java8Shapes) sum += com.ps.java8.s13.BenchmarkAccess.area(s);
+        return sum;
+    }
+
+    @Benchmark
+    public double java21Area() {
+        double sum = 0;
+        for (Object s : java21Shapes) sum += com.ps.java21.s13.BenchmarkAccess.area(s);
+        return sum;
+    }
+
+    @Benchmark
+    public double kotlinArea() {
+        double sum = 0;
+        for (Shape s : kotlinShapes) sum += WhenExamplesKt.area(s);
+        return sum;
+    }
+
+    @Benchmark
+    public int java8ClassifyScore() {
+        int h = 0;
+        for (int score : scores) h += com.ps.java8.s13.BenchmarkAccess.classifyScore(score).hashCode();
+        return h;
+    }
+
+    @Benchmark
+    public int java21ClassifyScore() {
+        int h = 0;
+        for (int score : scores) h += com.ps.java21.s13.BenchmarkAccess.classifyScore(score).hashCode();
+        return h;
+    }
+
+    @Benchmark
+    public int kotlinClassifyScore() {
+        int h = 0;
+        for (int score : scores) h += WhenExamplesKt.classifyScore(score).hashCode();
+        return h;
+    }
+}
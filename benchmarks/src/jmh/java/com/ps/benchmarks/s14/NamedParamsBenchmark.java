@@ -0,0 +1,43 @@
+package com.ps.benchmarks.s14;
+
+import com.ps.java21.s14.NamedAndDefaultParams21;
+import com.ps.java8.s14.NamedAndDefaultParams;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class NamedParamsBenchmark {
+
+    private String name = "Alice";
+    private String to = "boss@example.com";
+
+    @Benchmark
+    public String java8GreetDefaults() { return NamedAndDefaultParams.greet(name); }
+
+    @Benchmark
+    public String java21GreetDefaults() { return NamedAndDefaultParams21.greet(name); }
+
+    @Benchmark
+    public String kotlinGreetDefaults() { return KotlinCallSitesKt.kotlinGreetDefaults(name); }
+
+    @Benchmark
+    public NamedAndDefaultParams.Mail java8MailBuilder() {
+        return new NamedAndDefaultParams.Mail.Builder().to(to).subject("Weekly report").urgent(true).build();
+    }
+
+    @Benchmark
+    public NamedAndDefaultParams21.Mail java21MailBuilder() {
+        return NamedAndDefaultParams21.Mail.builder().to(to).subject("Weekly report").urgent(true).build();
+    }
+
+    @Benchmark
+    public com.ps.kotlin.s14.Mail kotlinNamedArgs() { return KotlinCallSitesKt.kotlinMail(to); }
+}
@@ -0,0 +1,11 @@
+package com.ps.java21.s07;
+
+// Result/DemoResult sont package-private: ce point d'accès les expose au module benchmarks
+public final class BenchmarkAccess {
+    private BenchmarkAccess() {}
+
+    public static Object success(Object value) { return new Success<>(value); }
+    public static Object error(String message) { return new Error<>(message); }
+
+    public static String render(Object r) { return DemoResult.render((Result<?>) r); }
+}
@@ -0,0 +1,13 @@
+package com.ps.java21.s13;
+
+// Shape et area sont package-private: ce point d'accès les expose au module benchmarks
+public final class BenchmarkAccess {
+    private BenchmarkAccess() {}
+
+    public static Object[] shapes() {
+        return new Object[] { new WhenLike21.Circle(2.0), new WhenLike21.Rectangle(3.0, 4.0), new WhenLike21.Unknown("?") };
+    }
+
+    public static double area(Object shape) { return WhenLike21.area((WhenLike21.Shape) shape); }
+    public static String classifyScore(int score) { return WhenLike21.classifyScore(score); }
+}
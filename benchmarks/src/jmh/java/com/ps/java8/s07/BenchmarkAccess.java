@@ -0,0 +1,11 @@
+package com.ps.java8.s07;
+
+// Result est package-private: ce point d'accès l'expose au module benchmarks
+public final class BenchmarkAccess {
+    private BenchmarkAccess() {}
+
+    public static Object success(Object value) { return new Result.Success<>(value); }
+    public static Object error(String message) { return new Result.Error<>(message); }
+
+    public static String render(Object r) { return Result.render((Result<?>) r); }
+}
@@ -0,0 +1,13 @@
+package com.ps.java8.s13;
+
+// Shape et area sont package-private: ce point d'accès les expose au module benchmarks
+public final class BenchmarkAccess {
+    private BenchmarkAccess() {}
+
+    public static Object[] shapes() {
+        return new Object[] { new WhenLike.Circle(2.0), new WhenLike.Rectangle(3.0, 4.0), new WhenLike.Unknown("?") };
+    }
+
+    public static double area(Object shape) { return WhenLike.area((WhenLike.Shape) shape); }
+    public static String classifyScore(int score) { return WhenLike.classifyScore(score); }
+}
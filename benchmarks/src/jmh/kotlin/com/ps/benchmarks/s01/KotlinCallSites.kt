@@ -0,0 +1,13 @@
+package com.ps.benchmarks.s01
+
+import com.ps.kotlin.s01.User
+import com.ps.kotlin.s01.UserMap
+
+// groupBy idiomatique: une List<User> par âge, puis taille de chaque groupe
+fun kotlinGroupByCount(users: List<User>): Map<Int, Int> = users.groupBy { it.age }.mapValues { it.value.size }
+
+// groupingBy + eachCount: pas de liste par groupe, mais clés et compteurs boxés
+fun kotlinGroupingByEachCount(users: List<User>): Map<Int, Int> = users.groupingBy { it.age }.eachCount()
+
+// Mise à jour persistante à la Kotlin: copy(age = ...) sur la valeur, chemin recopié dans la map
+fun kotlinMapWithAge(users: UserMap, name: String, age: Int): UserMap = users.update(name) { it.copy(age = age) }
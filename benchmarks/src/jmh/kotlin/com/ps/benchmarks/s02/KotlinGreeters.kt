@@ -0,0 +1,51 @@
+package com.ps.benchmarks.s02
+
+import com.ps.kotlin.s02.Greeter
+
+// Implémentations « générées » pour DispatchWorkload: même forme que ConsoleGreeter, une salutation
+// par classe; greetCasual reste la méthode par défaut de l'interface (DefaultImpls ou -Xjvm-default)
+
+class KotlinGreeter0 : Greeter {
+    override fun greet(name: String) = "Hello $name"
+    override fun greetTo(out: Appendable, name: CharSequence): Appendable = out.append("Hello ").append(name)
+}
+
+class KotlinGreeter1 : Greeter {
+    override fun greet(name: String) = "Bonjour $name"
+    override fun greetTo(out: Appendable, name: CharSequence): Appendable = out.append("Bonjour ").append(name)
+}
+
+class KotlinGreeter2 : Greeter {
+    override fun greet(name: String) = "Hola $name"
+    override fun greetTo(out: Appendable, name: CharSequence): Appendable = out.append("Hola ").append(name)
+}
+
+class KotlinGreeter3 : Greeter {
+    override fun greet(name: String) = "Hallo $name"
+    override fun greetTo(out: Appendable, name: CharSequence): Appendable = out.append("Hallo ").append(name)
+}
+
+class KotlinGreeter4 : Greeter {
+    override fun greet(name: String) = "Ciao $name"
+    override fun greetTo(out: Appendable, name: CharSequence): Appendable = out.append("Ciao ").append(name)
+}
+
+class KotlinGreeter5 : Greeter {
+    override fun greet(name: String) = "Olá $name"
+    override fun greetTo(out: Appendable, name: CharSequence): Appendable = out.append("Olá ").append(name)
+}
+
+class KotlinGreeter6 : Greeter {
+    override fun greet(name: String) = "Hej $name"
+    override fun greetTo(out: Appendable, name: CharSequence): Appendable = out.append("Hej ").append(name)
+}
+
+class KotlinGreeter7 : Greeter {
+    override fun greet(name: String) = "Ahoj $name"
+    override fun greetTo(out: Appendable, name: CharSequence): Appendable = out.append("Ahoj ").append(name)
+}
+
+fun kotlinGreeters(): Array<Greeter> = arrayOf(
+    KotlinGreeter0(), KotlinGreeter1(), KotlinGreeter2(), KotlinGreeter3(),
+    KotlinGreeter4(), KotlinGreeter5(), KotlinGreeter6(), KotlinGreeter7(),
+)
@@ -0,0 +1,20 @@
+package com.ps.benchmarks.s03
+
+import com.ps.kotlin.s03.withValue
+
+// Appelé depuis Java, withValue ne serait pas inliné: le site d'appel vit donc ici
+fun kotlinWithValue(value: Int): String = withValue(value) { "val=$it" }
+
+// Int en entrée et en sortie: après inlining, ni Integer ni lambda
+fun kotlinWithValueArithmetic(value: Int): Int = withValue(value) { it * 31 + 7 }
+
+// Les huit étapes de PipelineBenchmark: withValue étant inline, le compilateur Kotlin les fusionne déjà
+fun kotlinPipeline(value: Int): Int =
+    withValue(value) { it + 1 }
+        .let { withValue(it) { x -> x * 3 } }
+        .let { withValue(it) { x -> x xor 0x5f } }
+        .let { withValue(it) { x -> x ushr 1 } }
+        .let { withValue(it) { x -> x - 7 } }
+        .let { withValue(it) { x -> x * x } }
+        .let { withValue(it) { x -> x and 0xffff } }
+        .let { withValue(it) { x -> x or 1 } }
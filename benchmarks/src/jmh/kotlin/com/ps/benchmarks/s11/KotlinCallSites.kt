@@ -0,0 +1,8 @@
+package com.ps.benchmarks.s11
+
+// Même chaîne que LetLike21, écrite avec ?.let (inline, sans Optional)
+fun kotlinLet(maybe: String?): String =
+    maybe?.trim()
+        ?.takeIf { it.isNotEmpty() }
+        ?.let { it.uppercase() }
+        ?: "N/A"
@@ -0,0 +1,8 @@
+package com.ps.benchmarks.s12
+
+import com.ps.kotlin.s12.compute
+
+fun kotlinDestructure(): Int {
+    val (x, y) = compute()
+    return x + y
+}
@@ -0,0 +1,9 @@
+package com.ps.benchmarks.s14
+
+import com.ps.kotlin.s14.Mail
+import com.ps.kotlin.s14.greet
+
+// Les valeurs par défaut sont résolues côté appelant Kotlin (greet$default)
+fun kotlinGreetDefaults(name: String): String = greet(name)
+
+fun kotlinMail(to: String): Mail = Mail(to = to, subject = "Weekly report", urgent = true)
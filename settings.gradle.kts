@@ -1,4 +1,5 @@
 plugins {
     id("org.gradle.toolchains.foojay-resolver-convention") version "0.8.0"
 }
-rootProject.name = "kt-cheatsheet"
\ No newline at end of file
+rootProject.name = "kt-cheatsheet"
+include("benchmarks")
\ No newline at end of file
@@ -0,0 +1,172 @@
+package com.ps.java21.s01;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.ToIntFunction;
+
+/**
+ * Agrégation par âge en parallèle (fork/join): effectifs et statistiques de longueur de nom.
+ * Chaque tâche feuille accumule dans ses propres tableaux indexés par l'âge, fusionnés en
+ * remontant les tâches: ni clé boxée, ni liste par groupe comme avec Collectors.groupingBy,
+ * et rien ne reste attaché aux threads du pool après l'appel.
+ * Les âges hors de [0, maxAge] sont comptés à part (outOfRange).
+ */
+public final class AgeGroups {
+
+    public static final int DEFAULT_MAX_AGE = 150;
+    private static final int LEAF_SIZE = 1 << 14;
+
+    private final int maxAge;
+    private final long[] counts;
+    private final long[] nameLengthSums;
+    private final int[] minNameLengths;
+    private final int[] maxNameLengths;
+    private final long outOfRange;
+
+    private AgeGroups(Accumulator acc, int maxAge) {
+        this.maxAge = maxAge;
+        counts = new long[maxAge + 1];
+        for (int a = 0; a <= maxAge; a++) counts[a] = acc.counts[a];
+        nameLengthSums = Arrays.copyOf(acc.nameLengthSums, maxAge + 1);
+        minNameLengths = Arrays.copyOf(acc.minNameLengths, maxAge + 1);
+        maxNameLengths = Arrays.copyOf(acc.maxNameLengths, maxAge + 1);
+        outOfRange = acc.counts[maxAge + 1];
+    }
+
+    public static AgeGroups aggregate(List<User> users) {
+        return aggregate(users, User::age, u -> u.name() == null ? 0 : u.name().length(),
+                DEFAULT_MAX_AGE, ForkJoinPool.commonPool());
+    }
+
+    /** Variante générique: fonctionne aussi pour les User Java 8 et Kotlin. */
+    public static <T> AgeGroups aggregate(List<T> users, ToIntFunction<? super T> age,
+                                          ToIntFunction<? super T> nameLength, int maxAge, ForkJoinPool pool) {
+        if (maxAge < 0) throw new IllegalArgumentException("maxAge must be >= 0");
+        List<T> source = users instanceof RandomAccess ? users : new ArrayList<>(users);
+        return new AgeGroups(pool.invoke(new Task<>(source, 0, source.size(), age, nameLength, maxAge)), maxAge);
+    }
+
+    public int maxAge() { return maxAge; }
+    public long count(int age) { return inRange(age) ? counts[age] : 0; }
+    public long outOfRange() { return outOfRange; }
+
+    public long total() {
+        long total = outOfRange;
+        for (long c : counts) total += c;
+        return total;
+    }
+
+    public long nameLengthSum(int age) { return inRange(age) ? nameLengthSums[age] : 0; }
+
+    public double averageNameLength(int age) {
+        long c = count(age);
+        return c == 0 ? Double.NaN : (double) nameLengthSums[age] / c;
+    }
+
+    public int minNameLength(int age) {
+        if (count(age) == 0) throw new IllegalArgumentException("no user aged " + age);
+        return minNameLengths[age];
+    }
+
+    public int maxNameLength(int age) {
+        if (count(age) == 0) throw new IllegalArgumentException("no user aged " + age);
+        return maxNameLengths[age];
+    }
+
+    private boolean inRange(int age) { return age >= 0 && age <= maxAge; }
+
+    @Override
+    public String toString() {
+        var sb = new StringBuilder("AgeGroups{");
+        for (int a = 0; a <= maxAge; a++) {
+            if (counts[a] == 0) continue;
+            if (sb.length() > 10) sb.append(", ");
+            sb.append(a).append('=').append(counts[a]);
+        }
+        if (outOfRange > 0) sb.append(", outOfRange=").append(outOfRange);
+        return sb.append('}').toString();
+    }
+
+    // Accumulateurs primitifs; la case maxAge + 1 reçoit les âges hors plage
+    private static final class Accumulator {
+        final int[] counts;
+        final long[] nameLengthSums;
+        final int[] minNameLengths;
+        final int[] maxNameLengths;
+
+        Accumulator(int maxAge) {
+            counts = new int[maxAge + 2];
+            nameLengthSums = new long[maxAge + 2];
+            minNameLengths = new int[maxAge + 2];
+            maxNameLengths = new int[maxAge + 2];
+            Arrays.fill(minNameLengths, Integer.MAX_VALUE);
+        }
+
+        // Absorbe other (accumulateur d'une tâche sœur) et se rend
+        Accumulator merge(Accumulator other) {
+            for (int a = 0; a < counts.length; a++) {
+                counts[a] += other.counts[a];
+                nameLengthSums[a] += other.nameLengthSums[a];
+                minNameLengths[a] = Math.min(minNameLengths[a], other.minNameLengths[a]);
+                maxNameLengths[a] = Math.max(maxNameLengths[a], other.maxNameLengths[a]);
+            }
+            return this;
+        }
+    }
+
+    // Jamais sérialisée: une tâche ne vit que le temps du calcul dans le pool
+    @SuppressWarnings("serial")
+    private static final class Task<T> extends RecursiveTask<Accumulator> {
+        private final List<T> users;
+        private final int from, to;
+        private final ToIntFunction<? super T> age;
+        private final ToIntFunction<? super T> nameLength;
+        private final int maxAge;
+
+        Task(List<T> users, int from, int to, ToIntFunction<? super T> age,
+             ToIntFunction<? super T> nameLength, int maxAge) {
+            this.users = users;
+            this.from = from;
+            this.to = to;
+            this.age = age;
+            this.nameLength = nameLength;
+            this.maxAge = maxAge;
+        }
+
+        @Override
+        protected Accumulator compute() {
+            if (to - from > LEAF_SIZE) {
+                int mid = (from + to) >>> 1;
+                var left = new Task<>(users, from, mid, age, nameLength, maxAge);
+                left.fork();
+                Accumulator right = new Task<>(users, mid, to, age, nameLength, maxAge).compute();
+                return left.join().merge(right);
+            }
+            var acc = new Accumulator(maxAge);
+            int outOfRange = acc.counts.length - 1;
+            for (int i = from; i < to; i++) {
+                T u = users.get(i);
+                int a = age.applyAsInt(u);
+                int slot = a >= 0 && a < outOfRange ? a : outOfRange;
+                int len = nameLength.applyAsInt(u);
+                acc.counts[slot]++;
+                acc.nameLengthSums[slot] += len;
+                if (len < acc.minNameLengths[slot]) acc.minNameLengths[slot] = len;
+                if (len > acc.maxNameLengths[slot]) acc.maxNameLengths[slot] = len;
+            }
+            return acc;
+        }
+    }
+
+    public static void main(String[] args) {
+        var users = List.of(new User("Alice", 30), new User("Bob", 30), new User("Chloé", 25), new User("X", 200));
+        var groups = aggregate(users);
+        System.out.println(groups);                          // AgeGroups{25=1, 30=2, outOfRange=1}
+        System.out.println(groups.averageNameLength(30));    // 4.0
+        System.out.println(groups.maxNameLength(30));        // 5
+    }
+}
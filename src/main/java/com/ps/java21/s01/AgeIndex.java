@@ -0,0 +1,178 @@
+package com.ps.java21.s01;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntConsumer;
+import java.util.function.ToIntFunction;
+
+/**
+ * Index trié des âges: chaque entrée est un long (age &lt;&lt; 32 | ligne), donc pas de boxing.
+ * Les ajouts vont dans un petit tampon non trié, fusionné dans le tableau trié quand il
+ * dépasse ~racine(n) entrées; les requêtes combinent une recherche dichotomique et un parcours du tampon.
+ */
+public final class AgeIndex {
+
+    private static final int MIN_PENDING = 256;
+
+    private long[] sorted = new long[16];
+    private int sortedSize;
+    private long[] pending = new long[MIN_PENDING];
+    private int pendingSize;
+    // Ligne suivant la plus grande jamais indexée: ne redescend pas après remove()
+    private int nextRow;
+
+    public int size() { return sortedSize + pendingSize; }
+
+    public void add(int row, int age) {
+        if (row < 0) throw new IllegalArgumentException("row must be >= 0");
+        if (row >= nextRow) nextRow = row == Integer.MAX_VALUE ? row : row + 1;
+        if (pendingSize == pending.length) {
+            // Tampon ~ racine de n: équilibre le coût des fusions et celui des parcours du tampon
+            if (pendingSize >= Math.max(MIN_PENDING, (int) Math.sqrt(sortedSize))) merge();
+            else pending = Arrays.copyOf(pending, pendingSize * 2);
+        }
+        pending[pendingSize++] = key(age, row);
+    }
+
+    /**
+     * Indexe une liste de User (java8, java21 ou Kotlin), à la suite des lignes déjà attribuées:
+     * sur un index neuf, la ligne est la position dans la liste. Jamais une ligne déjà utilisée,
+     * même après remove().
+     */
+    public <T> void addAll(List<T> users, ToIntFunction<? super T> age) {
+        int first = nextRow;
+        if (users.size() > Integer.MAX_VALUE - first) throw new IllegalStateException("row ids exhausted");
+        ensureSortedCapacity(sortedSize + pendingSize + users.size());
+        for (int i = 0; i < users.size(); i++) {
+            sorted[sortedSize + pendingSize + i] = key(age.applyAsInt(users.get(i)), first + i);
+        }
+        System.arraycopy(pending, 0, sorted, sortedSize, pendingSize);
+        int total = sortedSize + pendingSize + users.size();
+        Arrays.sort(sorted, 0, total);
+        sortedSize = total;
+        pendingSize = 0;
+        nextRow = first + users.size();
+    }
+
+    public void addAll(List<User> users) { addAll(users, User::age); }
+
+    public boolean remove(int row, int age) {
+        long k = key(age, row);
+        for (int i = 0; i < pendingSize; i++) {
+            if (pending[i] == k) {
+                pending[i] = pending[--pendingSize];
+                return true;
+            }
+        }
+        int at = Arrays.binarySearch(sorted, 0, sortedSize, k);
+        if (at < 0) return false;
+        System.arraycopy(sorted, at + 1, sorted, at, sortedSize - at - 1);
+        sortedSize--;
+        return true;
+    }
+
+    /** Nombre de lignes avec minAge &lt;= age &lt;= maxAge, en O(log n + tampon). */
+    public int countBetween(int minAge, int maxAge) {
+        if (minAge > maxAge) return 0;
+        int count = upper(maxAge) - lower(minAge);
+        for (int i = 0; i < pendingSize; i++) {
+            int a = age(pending[i]);
+            if (a >= minAge && a <= maxAge) count++;
+        }
+        return count;
+    }
+
+    public int count(int age) { return countBetween(age, age); }
+
+    /** Lignes de la plage, triées par âge puis par ligne pour la partie indexée. */
+    public void forEachRowBetween(int minAge, int maxAge, IntConsumer action) {
+        if (minAge > maxAge) return;
+        for (int i = lower(minAge), end = upper(maxAge); i < end; i++) action.accept(row(sorted[i]));
+        for (int i = 0; i < pendingSize; i++) {
+            int a = age(pending[i]);
+            if (a >= minAge && a <= maxAge) action.accept(row(pending[i]));
+        }
+    }
+
+    public int[] rowsBetween(int minAge, int maxAge) {
+        merge();
+        if (minAge > maxAge) return new int[0];
+        int from = lower(minAge);
+        var rows = new int[upper(maxAge) - from];
+        for (int i = 0; i < rows.length; i++) rows[i] = row(sorted[from + i]);
+        return rows;
+    }
+
+    /** Histogramme des effectifs pour chaque âge de [minAge, maxAge] (un int par âge de la plage). */
+    public int[] histogram(int minAge, int maxAge) {
+        // En long: maxAge - minAge déborde d'un int sur une plage large
+        long width = (long) maxAge - minAge + 1;
+        if (width > Integer.MAX_VALUE - 8) throw new IllegalArgumentException("age range too wide: [" + minAge + ", " + maxAge + "]");
+        merge();
+        var counts = new int[(int) Math.max(width, 0)];
+        int from = lower(minAge);
+        for (int a = 0; a < counts.length; a++) {
+            int to = upper(minAge + a);
+            counts[a] = to - from;
+            from = to;
+        }
+        return counts;
+    }
+
+    /** Percentile par rang le plus proche, p dans [0, 100]. */
+    public int percentile(double p) {
+        if (p < 0 || p > 100) throw new IllegalArgumentException("p must be in [0, 100]");
+        if (size() == 0) throw new IllegalStateException("empty index");
+        merge();
+        int rank = (int) Math.ceil(p / 100.0 * sortedSize);
+        return age(sorted[Math.max(rank - 1, 0)]);
+    }
+
+    public int min() { return percentile(0); }
+    public int max() { return percentile(100); }
+
+    private void merge() {
+        if (pendingSize == 0) return;
+        Arrays.sort(pending, 0, pendingSize);
+        ensureSortedCapacity(sortedSize + pendingSize);
+        // Fusion en place par la fin: aucune copie temporaire du tableau trié
+        int i = sortedSize - 1, j = pendingSize - 1, k = sortedSize + pendingSize - 1;
+        while (j >= 0) {
+            sorted[k--] = (i >= 0 && sorted[i] > pending[j]) ? sorted[i--] : pending[j--];
+        }
+        sortedSize += pendingSize;
+        pendingSize = 0;
+    }
+
+    private void ensureSortedCapacity(int required) {
+        if (required > sorted.length) sorted = Arrays.copyOf(sorted, Math.max(required, sorted.length * 2));
+    }
+
+    // Premier indice dont l'âge est >= age
+    private int lower(int age) { return insertionPoint(key(age, 0)); }
+
+    // Premier indice dont l'âge est > age
+    private int upper(int age) {
+        return age == Integer.MAX_VALUE ? sortedSize : insertionPoint(key(age + 1, 0));
+    }
+
+    private int insertionPoint(long k) {
+        int at = Arrays.binarySearch(sorted, 0, sortedSize, k);
+        return at >= 0 ? at : -at - 1;
+    }
+
+    private static long key(int age, int row) { return ((long) age << 32) | row; }
+    private static int age(long key) { return (int) (key >> 32); }
+    private static int row(long key) { return (int) key; }
+
+    public static void main(String[] args) {
+        var users = List.of(new User("Alice", 30), new User("Bob", 25), new User("Chloé", 34), new User("Dan", 52));
+        var index = new AgeIndex();
+        index.addAll(users);
+
+        System.out.println(index.countBetween(25, 34));             // 3
+        System.out.println(Arrays.toString(index.rowsBetween(25, 34))); // [1, 0, 2]
+        System.out.println(index.percentile(50));                   // 30
+        System.out.println(Arrays.toString(index.histogram(30, 34)));  // [1, 0, 0, 0, 1]
+    }
+}
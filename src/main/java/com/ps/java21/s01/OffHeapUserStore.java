@@ -0,0 +1,310 @@
+package com.ps.java21.s01;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Stockage de User hors du tas: rien n'est alloué côté GC par ligne.
+ * <pre>
+ * index  = en-tête (64 o) | entrée* ; entrée = offset du nom (long) | longueur (int, -1 = null) | age (int)
+ * noms   = octets UTF-8 bruts, concaténés
+ * </pre>
+ * Les deux zones sont découpées en segments de 64 Mo au plus, soit des ByteBuffer directs,
+ * soit des projections mémoire de {@code <base>.idx} et {@code <base>.dat}. Le dernier segment
+ * démarre à 64 Ko et double à la demande: un petit stockage reste un petit fichier.
+ * Réouvrir un fichier ne relit que l'en-tête. Un seul écrivain à la fois; les lecteurs d'autres
+ * threads voient toute ligne publiée par size() (volatile, écrit après la ligne).
+ */
+public final class OffHeapUserStore implements AutoCloseable {
+
+    @FunctionalInterface
+    public interface AgeVisitor {
+        void visit(long row, int age);
+    }
+
+    // Segment index de capacity octets; previous: version plus petite du même segment, ou null
+    @FunctionalInterface
+    private interface SegmentSource {
+        ByteBuffer segment(int index, int capacity, ByteBuffer previous) throws IOException;
+    }
+
+    static final int SEGMENT_SHIFT = 26;
+    static final int SEGMENT_SIZE = 1 << SEGMENT_SHIFT;
+    static final int INITIAL_SEGMENT_SIZE = 1 << 16;
+    private static final int MAGIC = 0x55535231; // "USR1"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 64;
+    private static final int ENTRY_SIZE = 16;
+    private static final int COUNT_OFFSET = 8;
+    private static final int DATA_END_OFFSET = 16;
+
+    private final SegmentSource indexSource;
+    private final SegmentSource dataSource;
+    // Remplacés (jamais modifiés en place) par l'écrivain quand un segment est ajouté ou agrandi
+    private volatile ByteBuffer[] indexSegments = new ByteBuffer[0];
+    private volatile ByteBuffer[] dataSegments = new ByteBuffer[0];
+    private final FileChannel indexChannel;
+    private final FileChannel dataChannel;
+    private volatile long size;
+    private long dataEnd;
+
+    private OffHeapUserStore(SegmentSource indexSource, SegmentSource dataSource,
+                             FileChannel indexChannel, FileChannel dataChannel) {
+        this.indexSource = indexSource;
+        this.dataSource = dataSource;
+        this.indexChannel = indexChannel;
+        this.dataChannel = dataChannel;
+    }
+
+    /** Stockage volatile en buffers directs. */
+    public static OffHeapUserStore allocateDirect() {
+        SegmentSource direct = (i, capacity, previous) -> {
+            var segment = ByteBuffer.allocateDirect(capacity);
+            if (previous != null) segment.put(previous.duplicate().clear()).clear();
+            return segment;
+        };
+        var store = new OffHeapUserStore(direct, direct, null, null);
+        store.writeHeader();
+        return store;
+    }
+
+    /**
+     * Ouvre (ou crée) un stockage persistant projeté en mémoire. L'en-tête d'un index existant est
+     * vérifié avant de créer le fichier des noms ou de projeter quoi que ce soit: un fichier qui
+     * n'est pas un stockage de User n'est ni agrandi ni accompagné d'un .dat vide.
+     */
+    public static OffHeapUserStore open(Path base) throws IOException {
+        Path indexFile = base.resolveSibling(base.getFileName() + ".idx");
+        Path dataFile = base.resolveSibling(base.getFileName() + ".dat");
+        var idx = FileChannel.open(indexFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        FileChannel dat = null;
+        try {
+            boolean existing = idx.size() > 0;
+            long size = 0;
+            long dataEnd = 0;
+            if (existing) {
+                var header = readHeader(idx);
+                if (header == null || header.getInt(0) != MAGIC) throw new IOException("not a user store: " + base);
+                if (header.getInt(4) != VERSION) throw new IOException("unsupported user store version " + header.getInt(4) + ": " + base);
+                size = header.getLong(COUNT_OFFSET);
+                dataEnd = header.getLong(DATA_END_OFFSET);
+                if (size < 0 || size > (idx.size() - HEADER_SIZE) / ENTRY_SIZE) {
+                    throw new IOException("corrupt user store: " + size + " rows do not fit in " + indexFile);
+                }
+                if (dataEnd < 0 || dataEnd > sizeOrZero(dataFile)) {
+                    throw new IOException("corrupt user store: names end at " + dataEnd + " past the end of " + dataFile);
+                }
+            }
+            dat = FileChannel.open(dataFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            var store = new OffHeapUserStore(mapper(idx), mapper(dat), idx, dat);
+            if (!existing) {
+                store.writeHeader();
+                return store;
+            }
+            store.dataEnd = dataEnd;
+            // Projette d'emblée ce qui existe: les lecteurs n'ont jamais à agrandir un segment
+            store.indexSegments = cover(store.indexSegments, store.indexSource, entryPosition(size));
+            store.dataSegments = cover(store.dataSegments, store.dataSource, dataEnd);
+            store.size = size;
+            return store;
+        } catch (IOException | RuntimeException e) {
+            idx.close();
+            if (dat != null) dat.close();
+            throw e;
+        }
+    }
+
+    // En-tête lu dans le tas (rien de projeté), ou null si le fichier est plus court
+    private static ByteBuffer readHeader(FileChannel channel) throws IOException {
+        var header = ByteBuffer.allocate(HEADER_SIZE);
+        while (header.hasRemaining()) {
+            if (channel.read(header, header.position()) < 0) return null;
+        }
+        return header;
+    }
+
+    private static long sizeOrZero(Path file) throws IOException {
+        try {
+            return Files.size(file);
+        } catch (NoSuchFileException e) {
+            return 0;
+        }
+    }
+
+    // Le fichier ne grandit que de la taille projetée
+    private static SegmentSource mapper(FileChannel channel) {
+        return (i, capacity, previous) -> channel.map(FileChannel.MapMode.READ_WRITE, (long) i << SEGMENT_SHIFT, capacity);
+    }
+
+    public long size() { return size; }
+
+    public long append(User user) {
+        String name = user.name();
+        int nameLength = -1;
+        long nameOffset = dataEnd;
+        // Nom vide: rien à écrire, aucun segment à ouvrir (même pile sur une frontière)
+        if (name != null && !name.isEmpty()) {
+            nameLength = UserCodec.utf8Length(name);
+            if (nameLength > SEGMENT_SIZE) throw new IllegalArgumentException("name too long: " + nameLength + " bytes");
+            // Un nom ne chevauche jamais deux segments
+            if ((nameOffset & (SEGMENT_SIZE - 1)) + nameLength > SEGMENT_SIZE) {
+                nameOffset = ((nameOffset >> SEGMENT_SHIFT) + 1) << SEGMENT_SHIFT;
+            }
+            int start = (int) (nameOffset & (SEGMENT_SIZE - 1));
+            ByteBuffer data = writableDataSegment((int) (nameOffset >> SEGMENT_SHIFT), start + nameLength);
+            UserCodec.putUtf8(data.position(start), name);
+            dataEnd = nameOffset + nameLength;
+        } else if (name != null) {
+            nameLength = 0;
+        }
+
+        long row = size;
+        long entry = entryPosition(row);
+        int at = (int) (entry & (SEGMENT_SIZE - 1));
+        ByteBuffer index = writableIndexSegment((int) (entry >> SEGMENT_SHIFT), at + ENTRY_SIZE);
+        index.putLong(at, nameOffset);
+        index.putInt(at + 8, nameLength);
+        index.putInt(at + 12, user.age());
+
+        // L'entrée est écrite avant de publier le nouveau compteur
+        size = row + 1;
+        ByteBuffer header = indexSegment(0);
+        header.putLong(DATA_END_OFFSET, dataEnd);
+        header.putLong(COUNT_OFFSET, size);
+        return row;
+    }
+
+    public int age(long row) {
+        long entry = entryPosition(checkRow(row));
+        return indexSegment((int) (entry >> SEGMENT_SHIFT)).getInt((int) (entry & (SEGMENT_SIZE - 1)) + 12);
+    }
+
+    public String name(long row) {
+        long entry = entryPosition(checkRow(row));
+        ByteBuffer index = indexSegment((int) (entry >> SEGMENT_SHIFT));
+        int at = (int) (entry & (SEGMENT_SIZE - 1));
+        int nameLength = index.getInt(at + 8);
+        if (nameLength < 0) return null;
+        if (nameLength == 0) return "";
+        long nameOffset = index.getLong(at);
+        var bytes = new byte[nameLength];
+        dataSegment((int) (nameOffset >> SEGMENT_SHIFT)).get((int) (nameOffset & (SEGMENT_SIZE - 1)), bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // Matérialisation explicite d'une ligne
+    public User get(long row) { return new User(name(row), age(row)); }
+
+    /** Parcours de la colonne des âges uniquement: aucun nom lu, aucune allocation. */
+    public void forEachAge(AgeVisitor visitor) {
+        // size lu avant les segments: ceux-ci couvrent toutes les lignes comptées
+        long end = size;
+        ByteBuffer[] segments = indexSegments;
+        long row = 0;
+        for (int s = 0; row < end; s++) {
+            ByteBuffer index = segments[s];
+            int at = s == 0 ? HEADER_SIZE : 0;
+            for (; at + ENTRY_SIZE <= SEGMENT_SIZE && row < end; at += ENTRY_SIZE, row++) {
+                visitor.visit(row, index.getInt(at + 12));
+            }
+        }
+    }
+
+    public void forEach(Consumer<User> action) {
+        long end = size;
+        for (long row = 0; row < end; row++) action.accept(get(row));
+    }
+
+    /** Écrit les pages modifiées sur disque (no-op en mode direct). */
+    public void force() {
+        if (indexChannel == null) return;
+        for (ByteBuffer b : dataSegments) ((MappedByteBuffer) b).force();
+        for (ByteBuffer b : indexSegments) ((MappedByteBuffer) b).force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (indexChannel == null) return;
+        force();
+        indexChannel.close();
+        dataChannel.close();
+    }
+
+    private void writeHeader() {
+        ByteBuffer header = writableIndexSegment(0, HEADER_SIZE);
+        header.putInt(0, MAGIC);
+        header.putInt(4, VERSION);
+        header.putLong(COUNT_OFFSET, 0);
+        header.putLong(DATA_END_OFFSET, 0);
+    }
+
+    private static long entryPosition(long row) { return HEADER_SIZE + row * ENTRY_SIZE; }
+
+    private long checkRow(long row) {
+        long end = size;
+        if (row < 0 || row >= end) throw new IndexOutOfBoundsException("row " + row + " out of [0, " + end + ")");
+        return row;
+    }
+
+    private ByteBuffer indexSegment(int i) { return indexSegments[i]; }
+    private ByteBuffer dataSegment(int i) { return dataSegments[i]; }
+
+    // Côté écrivain: le segment i, agrandi pour couvrir au moins end octets
+    private ByteBuffer writableIndexSegment(int i, int end) {
+        indexSegments = grow(indexSegments, indexSource, i, end);
+        return indexSegments[i];
+    }
+
+    private ByteBuffer writableDataSegment(int i, int end) {
+        dataSegments = grow(dataSegments, dataSource, i, end);
+        return dataSegments[i];
+    }
+
+    // Segments couvrant les end premiers octets d'une zone existante (réouverture)
+    private static ByteBuffer[] cover(ByteBuffer[] segments, SegmentSource source, long end) {
+        if (end <= 0) return segments;
+        int last = (int) ((end - 1) >> SEGMENT_SHIFT);
+        for (int i = 0; i < last; i++) segments = grow(segments, source, i, SEGMENT_SIZE);
+        return grow(segments, source, last, (int) (((end - 1) & (SEGMENT_SIZE - 1)) + 1));
+    }
+
+    // Nouveau tableau si le segment manque ou est trop petit: capacité doublée depuis 64 Ko
+    private static ByteBuffer[] grow(ByteBuffer[] segments, SegmentSource source, int i, int end) {
+        ByteBuffer current = i < segments.length ? segments[i] : null;
+        if (current != null && current.capacity() >= end) return segments;
+        var copy = Arrays.copyOf(segments, Math.max(segments.length, i + 1));
+        try {
+            // Segments sautés (réouverture seulement): déjà pleins dans le fichier
+            for (int j = segments.length; j < i; j++) copy[j] = source.segment(j, SEGMENT_SIZE, null);
+            int capacity = current == null ? INITIAL_SEGMENT_SIZE : current.capacity();
+            while (capacity < end) capacity <<= 1;
+            copy[i] = source.segment(i, Math.min(capacity, SEGMENT_SIZE), current);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return copy;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path base = Path.of(System.getProperty("java.io.tmpdir"), "users");
+        try (var store = OffHeapUserStore.open(base)) {
+            store.append(new User("Alice", 30));
+            store.append(new User("Bob", 25));
+            System.out.println(store.size() + " lignes, la dernière: " + store.get(store.size() - 1));
+        }
+        // Réouverture immédiate: seul l'en-tête est relu
+        try (var store = OffHeapUserStore.open(base)) {
+            store.forEachAge((row, age) -> System.out.println(row + " -> " + age));
+        }
+    }
+}
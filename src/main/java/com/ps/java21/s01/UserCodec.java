@@ -0,0 +1,228 @@
+package com.ps.java21.s01;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Codec binaire compact, identique pour les trois variantes de User:
+ * <pre>
+ * record = varint(longueur UTF-8 du nom + 1, 0 = null) | octets UTF-8 | varint zigzag(age)
+ * lot    = varint(nombre de records) | record*
+ * </pre>
+ * Les écritures se font directement dans le ByteBuffer fourni (BufferOverflowException s'il est trop petit).
+ */
+public final class UserCodec {
+    private UserCodec() {}
+
+    public static int encodedSize(User u) {
+        int len = utf8Length(u.name());
+        return varintSize(u.name() == null ? 0 : len + 1) + len + varintSize(zigzag(u.age()));
+    }
+
+    public static void encode(User u, ByteBuffer out) {
+        String name = u.name();
+        if (name == null) {
+            putVarint(out, 0);
+        } else {
+            putVarint(out, utf8Length(name) + 1);
+            putUtf8(out, name);
+        }
+        putVarint(out, zigzag(u.age()));
+    }
+
+    public static User decode(ByteBuffer in) {
+        int header = getVarint(in);
+        String name = null;
+        if (header != 0) {
+            int len = header - 1;
+            // Longueur corrompue ou lot tronqué: même erreur que in.get(bytes), pas de lecture au-delà de la limite
+            if (len > in.remaining()) throw new BufferUnderflowException();
+            if (in.hasArray()) {
+                name = new String(in.array(), in.arrayOffset() + in.position(), len, StandardCharsets.UTF_8);
+                in.position(in.position() + len);
+            } else {
+                byte[] bytes = new byte[len];
+                in.get(bytes);
+                name = new String(bytes, StandardCharsets.UTF_8);
+            }
+        }
+        return new User(name, unzigzag(getVarint(in)));
+    }
+
+    public static void encodeAll(List<User> users, ByteBuffer out) {
+        putVarint(out, users.size());
+        for (User u : users) encode(u, out);
+    }
+
+    public static void encodeAll(User[] users, ByteBuffer out) {
+        putVarint(out, users.length);
+        for (User u : users) encode(u, out);
+    }
+
+    public static List<User> decodeAll(ByteBuffer in) {
+        int count = getCount(in);
+        var users = new ArrayList<User>(count);
+        for (int i = 0; i < count; i++) users.add(decode(in));
+        return users;
+    }
+
+    public static User[] decodeArray(ByteBuffer in) {
+        var users = new User[getCount(in)];
+        for (int i = 0; i < users.length; i++) users[i] = decode(in);
+        return users;
+    }
+
+    // Nombre d'entrées lu avant d'allouer: chaque entrée prend au moins un octet, donc un compte
+    // au-delà de remaining() (ou négatif) vient d'une entrée tronquée ou corrompue
+    private static int getCount(ByteBuffer in) {
+        int count = getVarint(in);
+        if (count < 0) throw new IllegalArgumentException("negative user count: " + count);
+        if (count > in.remaining()) throw new BufferUnderflowException();
+        return count;
+    }
+
+    /**
+     * Lecture sans allocation d'un lot encodé par encodeAll: expose position et longueur
+     * du nom dans le buffer, et l'âge, sans créer de User ni de String.
+     */
+    public static final class Reader {
+        private final ByteBuffer buf;
+        private int remaining;
+        private int nameOffset;
+        private int nameLength;
+        private int age;
+
+        public Reader(ByteBuffer batch) {
+            this.buf = batch;
+            this.remaining = getVarint(batch);
+        }
+
+        public boolean next() {
+            if (remaining == 0) return false;
+            remaining--;
+            int header = getVarint(buf);
+            nameLength = header - 1;
+            nameOffset = buf.position();
+            if (header != 0) buf.position(nameOffset + nameLength);
+            age = unzigzag(getVarint(buf));
+            return true;
+        }
+
+        public int age() { return age; }
+        public boolean nameIsNull() { return nameLength < 0; }
+        /** Position absolue du nom UTF-8 dans le buffer source. */
+        public int nameOffset() { return nameOffset; }
+        public int nameLength() { return Math.max(nameLength, 0); }
+
+        public boolean nameEquals(byte[] utf8) {
+            if (utf8.length != nameLength) return false;
+            for (int i = 0; i < nameLength; i++) {
+                if (buf.get(nameOffset + i) != utf8[i]) return false;
+            }
+            return true;
+        }
+
+        // Matérialisation explicite, à la demande
+        public String name() {
+            if (nameLength < 0) return null;
+            byte[] bytes = new byte[nameLength];
+            buf.get(nameOffset, bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        public User toUser() { return new User(name(), age); }
+    }
+
+    static int utf8Length(String s) {
+        if (s == null) return 0;
+        int len = s.length();
+        int bytes = len;
+        for (int i = 0; i < len; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) continue;
+            if (c < 0x800) {
+                bytes += 1;
+            } else if (Character.isHighSurrogate(c) && i + 1 < len && Character.isLowSurrogate(s.charAt(i + 1))) {
+                bytes += 2;
+                i++;
+            } else if (!Character.isSurrogate(c)) {
+                bytes += 2;
+            }
+        }
+        return bytes;
+    }
+
+    // Encodage UTF-8 à la main: pas de byte[] intermédiaire ni de CharsetEncoder
+    static void putUtf8(ByteBuffer out, String s) {
+        int len = s.length();
+        for (int i = 0; i < len; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                out.put((byte) c);
+            } else if (c < 0x800) {
+                out.put((byte) (0xC0 | (c >> 6)));
+                out.put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < len && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, s.charAt(++i));
+                out.put((byte) (0xF0 | (cp >> 18)));
+                out.put((byte) (0x80 | ((cp >> 12) & 0x3F)));
+                out.put((byte) (0x80 | ((cp >> 6) & 0x3F)));
+                out.put((byte) (0x80 | (cp & 0x3F)));
+            } else {
+                // Surrogate isolé: remplacé par '?' comme String.getBytes
+                if (Character.isSurrogate(c)) c = '?';
+                if (c < 0x80) {
+                    out.put((byte) c);
+                } else {
+                    out.put((byte) (0xE0 | (c >> 12)));
+                    out.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                    out.put((byte) (0x80 | (c & 0x3F)));
+                }
+            }
+        }
+    }
+
+    static int zigzag(int v) { return (v << 1) ^ (v >> 31); }
+    static int unzigzag(int v) { return (v >>> 1) ^ -(v & 1); }
+
+    static int varintSize(int v) {
+        int size = 1;
+        while ((v & ~0x7F) != 0) {
+            v >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    static void putVarint(ByteBuffer out, int v) {
+        while ((v & ~0x7F) != 0) {
+            out.put((byte) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+        out.put((byte) v);
+    }
+
+    static int getVarint(ByteBuffer in) {
+        int result = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = in.get();
+            result |= (b & 0x7F) << shift;
+            if (b >= 0) return result;
+        }
+        throw new IllegalArgumentException("malformed varint");
+    }
+
+    public static void main(String[] args) {
+        var buf = ByteBuffer.allocate(256);
+        encodeAll(List.of(new User("Alice", 30), new User("Zoë", 25)), buf);
+        buf.flip();
+        System.out.println(buf.remaining() + " octets");  // 14 octets
+
+        var reader = new Reader(buf.duplicate());
+        while (reader.next()) System.out.println(reader.nameLength() + " octets de nom, age=" + reader.age());
+        System.out.println(decodeAll(buf));                // [User[name=Alice, age=30], User[name=Zoë, age=25]]
+    }
+}
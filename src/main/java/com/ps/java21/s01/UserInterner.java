@@ -0,0 +1,100 @@
+package com.ps.java21.s01;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Canonicalise les User égaux vers une instance unique, sans les retenir:
+ * les entrées sont faibles et purgées dès que plus personne ne les référence.
+ * Deux User internés sont égaux si et seulement si ils sont identiques (==),
+ * et le equals généré du record teste l'identité en premier.
+ */
+public final class UserInterner {
+
+    public record Stats(long hits, long misses, int size) {
+        public double hitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+    }
+
+    private final ConcurrentHashMap<Object, WeakKey> table = new ConcurrentHashMap<>();
+    private final ReferenceQueue<User> queue = new ReferenceQueue<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public User intern(User user) {
+        expungeStaleEntries();
+        while (true) {
+            WeakKey existing = table.get(new Probe(user));
+            if (existing == null) {
+                WeakKey fresh = new WeakKey(user, queue);
+                existing = table.putIfAbsent(fresh, fresh);
+                if (existing == null) {
+                    misses.increment();
+                    return user;
+                }
+            }
+            User canonical = existing.get();
+            if (canonical != null) {
+                hits.increment();
+                return canonical;
+            }
+            // Référence collectée entre-temps: on nettoie et on recommence
+            table.remove(existing, existing);
+        }
+    }
+
+    public int size() {
+        expungeStaleEntries();
+        return table.size();
+    }
+
+    public Stats stats() { return new Stats(hits.sum(), misses.sum(), size()); }
+
+    private void expungeStaleEntries() {
+        for (Object ref; (ref = queue.poll()) != null; ) {
+            table.remove(ref, ref);
+        }
+    }
+
+    // Clé de recherche fortement référencée: évite d'allouer une WeakReference par lookup
+    private record Probe(User user) {
+        @Override public int hashCode() { return user.hashCode(); }
+
+        @Override public boolean equals(Object o) {
+            return o instanceof WeakKey k && user.equals(k.get());
+        }
+    }
+
+    private static final class WeakKey extends WeakReference<User> {
+        private final int hash;
+
+        WeakKey(User user, ReferenceQueue<User> queue) {
+            super(user, queue);
+            this.hash = user.hashCode();
+        }
+
+        @Override public int hashCode() { return hash; }
+
+        @Override public boolean equals(Object o) {
+            if (o == this) return true;
+            User u = get();
+            return u != null && switch (o) {
+                case WeakKey k -> u.equals(k.get());
+                case Probe p -> u.equals(p.user());
+                default -> false;
+            };
+        }
+    }
+
+    public static void main(String[] args) {
+        var interner = new UserInterner();
+        var a = interner.intern(new User(new String("Alice"), 30));
+        var b = interner.intern(new User(new String("Alice"), 30));
+        System.out.println(a == b);            // true
+        System.out.println(interner.stats());  // Stats[hits=1, misses=1, size=1]
+    }
+}
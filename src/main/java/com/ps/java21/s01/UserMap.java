@@ -0,0 +1,277 @@
+package com.ps.java21.s01;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * Map persistante (immuable) de User indexés par nom: trie de hachage à 32 branches (HAMT, variante CHAMP).
+ * Une mise à jour ne recopie que le chemin de la racine à la feuille (au plus 7 nœuds);
+ * le reste est partagé avec la version précédente. Un instantané est donc la référence elle-même, en O(1).
+ */
+public final class UserMap implements Iterable<User> {
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+    private static final UserMap EMPTY = new UserMap(new Bitmap(0, 0, new Object[0]), 0);
+
+    private sealed interface Node permits Bitmap, Collision { }
+
+    // Users d'abord (dans l'ordre des bits de dataMap), puis sous-nœuds (ordre des bits de nodeMap)
+    private record Bitmap(int dataMap, int nodeMap, Object[] slots) implements Node { }
+
+    // Noms différents mais même hachage complet
+    private record Collision(int hash, User[] users) implements Node { }
+
+    private final Node root;
+    private final int size;
+
+    private UserMap(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    public static UserMap empty() { return EMPTY; }
+
+    public static UserMap of(User... users) {
+        UserMap map = EMPTY;
+        for (User u : users) map = map.put(u);
+        return map;
+    }
+
+    public int size() { return size; }
+    public boolean isEmpty() { return size == 0; }
+
+    public User get(String name) {
+        int hash = hash(name);
+        Node node = root;
+        for (int shift = 0; ; shift += BITS) {
+            switch (node) {
+                case Collision c -> {
+                    for (User u : c.users()) if (Objects.equals(u.name(), name)) return u;
+                    return null;
+                }
+                case Bitmap b -> {
+                    int bit = bit(hash, shift);
+                    if ((b.dataMap() & bit) != 0) {
+                        User u = (User) b.slots()[dataIndex(b, bit)];
+                        return Objects.equals(u.name(), name) ? u : null;
+                    }
+                    if ((b.nodeMap() & bit) == 0) return null;
+                    node = (Node) b.slots()[nodeIndex(b, bit)];
+                }
+            }
+        }
+    }
+
+    public boolean containsKey(String name) { return get(name) != null; }
+
+    /** Ajoute ou remplace le User de même nom; renvoie this si rien ne change. */
+    public UserMap put(User user) {
+        var added = new boolean[1];
+        Node newRoot = put(root, user, hash(user.name()), 0, added);
+        return newRoot == root ? this : new UserMap(newRoot, added[0] ? size + 1 : size);
+    }
+
+    public UserMap remove(String name) {
+        Node newRoot = remove(root, name, hash(name), 0);
+        return newRoot == root ? this : new UserMap(newRoot, size - 1);
+    }
+
+    /** Remplace le User de ce nom par f(user); sans effet si le nom est absent. */
+    public UserMap update(String name, UnaryOperator<User> f) {
+        User current = get(name);
+        if (current == null) return this;
+        User updated = f.apply(current);
+        if (!Objects.equals(updated.name(), name)) return remove(name).put(updated);
+        return put(updated);
+    }
+
+    // Équivalent de user.copy(age = age) en Kotlin
+    public UserMap withAge(String name, int age) {
+        return update(name, u -> u.age() == age ? u : new User(u.name(), age));
+    }
+
+    @Override
+    public void forEach(Consumer<? super User> action) { forEach(root, action); }
+
+    @Override
+    public Iterator<User> iterator() {
+        var all = new ArrayList<User>(size);
+        forEach(all::add);
+        return all.iterator();
+    }
+
+    public List<User> toList() {
+        var all = new ArrayList<User>(size);
+        forEach(all::add);
+        return all;
+    }
+
+    @Override
+    public String toString() { return "UserMap" + toList(); }
+
+    // --- opérations sur les nœuds ---
+
+    private static Node put(Node node, User user, int hash, int shift, boolean[] added) {
+        if (node instanceof Collision c) {
+            User[] users = c.users();
+            for (int i = 0; i < users.length; i++) {
+                if (Objects.equals(users[i].name(), user.name())) {
+                    if (users[i].equals(user)) return node;
+                    User[] copy = users.clone();
+                    copy[i] = user;
+                    return new Collision(hash, copy);
+                }
+            }
+            User[] copy = Arrays.copyOf(users, users.length + 1);
+            copy[users.length] = user;
+            added[0] = true;
+            return new Collision(hash, copy);
+        }
+        var b = (Bitmap) node;
+        int bit = bit(hash, shift);
+        Object[] slots = b.slots();
+        if ((b.dataMap() & bit) != 0) {
+            int i = dataIndex(b, bit);
+            User existing = (User) slots[i];
+            if (Objects.equals(existing.name(), user.name())) {
+                if (existing.equals(user)) return node;
+                Object[] copy = slots.clone();
+                copy[i] = user;
+                return new Bitmap(b.dataMap(), b.nodeMap(), copy);
+            }
+            // Deux noms sur la même branche: on descend d'un niveau
+            added[0] = true;
+            Node child = merge(existing, hash(existing.name()), user, hash, shift + BITS);
+            return replaceDataWithNode(b, bit, i, child);
+        }
+        if ((b.nodeMap() & bit) != 0) {
+            int i = nodeIndex(b, bit);
+            Node child = (Node) slots[i];
+            Node newChild = put(child, user, hash, shift + BITS, added);
+            if (newChild == child) return node;
+            Object[] copy = slots.clone();
+            copy[i] = newChild;
+            return new Bitmap(b.dataMap(), b.nodeMap(), copy);
+        }
+        added[0] = true;
+        int i = dataIndex(b, bit);
+        Object[] copy = new Object[slots.length + 1];
+        System.arraycopy(slots, 0, copy, 0, i);
+        copy[i] = user;
+        System.arraycopy(slots, i, copy, i + 1, slots.length - i);
+        return new Bitmap(b.dataMap() | bit, b.nodeMap(), copy);
+    }
+
+    private static Node merge(User u1, int h1, User u2, int h2, int shift) {
+        if (shift >= Integer.SIZE) return new Collision(h1, new User[] { u1, u2 });
+        int f1 = (h1 >>> shift) & MASK, f2 = (h2 >>> shift) & MASK;
+        if (f1 == f2) return new Bitmap(0, 1 << f1, new Object[] { merge(u1, h1, u2, h2, shift + BITS) });
+        Object[] slots = f1 < f2 ? new Object[] { u1, u2 } : new Object[] { u2, u1 };
+        return new Bitmap((1 << f1) | (1 << f2), 0, slots);
+    }
+
+    private static Node remove(Node node, String name, int hash, int shift) {
+        if (node instanceof Collision c) {
+            User[] users = c.users();
+            for (int i = 0; i < users.length; i++) {
+                if (Objects.equals(users[i].name(), name)) {
+                    User[] copy = new User[users.length - 1];
+                    System.arraycopy(users, 0, copy, 0, i);
+                    System.arraycopy(users, i + 1, copy, i, copy.length - i);
+                    return new Collision(hash, copy);
+                }
+            }
+            return node;
+        }
+        var b = (Bitmap) node;
+        int bit = bit(hash, shift);
+        Object[] slots = b.slots();
+        if ((b.dataMap() & bit) != 0) {
+            int i = dataIndex(b, bit);
+            if (!Objects.equals(((User) slots[i]).name(), name)) return node;
+            Object[] copy = new Object[slots.length - 1];
+            System.arraycopy(slots, 0, copy, 0, i);
+            System.arraycopy(slots, i + 1, copy, i, copy.length - i);
+            return new Bitmap(b.dataMap() & ~bit, b.nodeMap(), copy);
+        }
+        if ((b.nodeMap() & bit) == 0) return node;
+        int i = nodeIndex(b, bit);
+        Node child = (Node) slots[i];
+        Node newChild = remove(child, name, hash, shift + BITS);
+        if (newChild == child) return node;
+        // Forme canonique: un sous-nœud réduit à un seul User remonte dans le parent
+        User single = singleUser(newChild);
+        if (single != null) return replaceNodeWithData(b, bit, i, single);
+        Object[] copy = slots.clone();
+        copy[i] = newChild;
+        return new Bitmap(b.dataMap(), b.nodeMap(), copy);
+    }
+
+    private static User singleUser(Node node) {
+        return switch (node) {
+            case Collision c -> c.users().length == 1 ? c.users()[0] : null;
+            case Bitmap b -> b.nodeMap() == 0 && b.slots().length == 1 ? (User) b.slots()[0] : null;
+        };
+    }
+
+    private static Node replaceDataWithNode(Bitmap b, int bit, int dataIndex, Node child) {
+        Object[] slots = b.slots();
+        Object[] copy = new Object[slots.length];
+        int newNodeIndex = Integer.bitCount(b.dataMap()) - 1 + Integer.bitCount(b.nodeMap() & (bit - 1));
+        System.arraycopy(slots, 0, copy, 0, dataIndex);
+        System.arraycopy(slots, dataIndex + 1, copy, dataIndex, newNodeIndex - dataIndex);
+        copy[newNodeIndex] = child;
+        System.arraycopy(slots, newNodeIndex + 1, copy, newNodeIndex + 1, slots.length - newNodeIndex - 1);
+        return new Bitmap(b.dataMap() & ~bit, b.nodeMap() | bit, copy);
+    }
+
+    private static Node replaceNodeWithData(Bitmap b, int bit, int nodeIndex, User user) {
+        Object[] slots = b.slots();
+        Object[] copy = new Object[slots.length];
+        int newDataIndex = Integer.bitCount(b.dataMap() & (bit - 1));
+        System.arraycopy(slots, 0, copy, 0, newDataIndex);
+        copy[newDataIndex] = user;
+        System.arraycopy(slots, newDataIndex, copy, newDataIndex + 1, nodeIndex - newDataIndex);
+        System.arraycopy(slots, nodeIndex + 1, copy, nodeIndex + 1, slots.length - nodeIndex - 1);
+        return new Bitmap(b.dataMap() | bit, b.nodeMap() & ~bit, copy);
+    }
+
+    private static void forEach(Node node, Consumer<? super User> action) {
+        switch (node) {
+            case Collision c -> { for (User u : c.users()) action.accept(u); }
+            case Bitmap b -> {
+                Object[] slots = b.slots();
+                int data = Integer.bitCount(b.dataMap());
+                for (int i = 0; i < data; i++) action.accept((User) slots[i]);
+                for (int i = data; i < slots.length; i++) forEach((Node) slots[i], action);
+            }
+        }
+    }
+
+    private static int hash(String name) {
+        int h = Objects.hashCode(name);
+        return h ^ (h >>> 16);
+    }
+
+    private static int bit(int hash, int shift) { return 1 << ((hash >>> shift) & MASK); }
+    private static int dataIndex(Bitmap b, int bit) { return Integer.bitCount(b.dataMap() & (bit - 1)); }
+    private static int nodeIndex(Bitmap b, int bit) {
+        return Integer.bitCount(b.dataMap()) + Integer.bitCount(b.nodeMap() & (bit - 1));
+    }
+
+    public static void main(String[] args) {
+        var v1 = UserMap.of(new User("Alice", 30), new User("Bob", 25));
+        var snapshot = v1;                        // instantané: une simple référence
+        var v2 = v1.withAge("Alice", 31).put(new User("Chloé", 34));
+
+        System.out.println(snapshot.get("Alice"));   // User[name=Alice, age=30]
+        System.out.println(v2.get("Alice"));         // User[name=Alice, age=31]
+        System.out.println(v2.size() + " / " + snapshot.size());  // 3 / 2
+    }
+}
@@ -0,0 +1,151 @@
+package com.ps.java21.s01;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Tri par (nom, âge) sur clés normalisées: les 8 premiers caractères du nom sont
+ * empaquetés dans deux long (16 bits par caractère, donc même ordre que String.compareTo),
+ * triés par radix LSD sur des tableaux primitifs. La comparaison complète n'intervient
+ * que pour départager les lignes dont les 8 premiers caractères sont identiques.
+ * Les noms null ne sont pas acceptés, comme avec Comparator.comparing.
+ */
+public final class UserSorter {
+    private UserSorter() {}
+
+    private static final int PREFIX_CHARS = 8;
+    private static final int RADIX_THRESHOLD = 2048;
+
+    public static void sort(List<User> users) { sort(users, User::name, User::age); }
+
+    /** Variante générique: fonctionne aussi pour les User Java 8 et Kotlin. */
+    @SuppressWarnings("unchecked")
+    public static <T> void sort(List<T> users, Function<? super T, String> name, ToIntFunction<? super T> age) {
+        Object[] a = users.toArray();
+        sort((T[]) a, name, age);
+        ListIterator<T> it = users.listIterator();
+        for (Object u : a) {
+            it.next();
+            it.set((T) u);
+        }
+    }
+
+    public static <T> void sort(T[] users, Function<? super T, String> name, ToIntFunction<? super T> age) {
+        int n = users.length;
+        Comparator<T> full = Comparator.<T, String>comparing(name).thenComparingInt(age);
+        if (n < RADIX_THRESHOLD) {
+            Arrays.sort(users, full);
+            return;
+        }
+
+        long[] hi = new long[n];
+        long[] lo = new long[n];
+        String[] names = new String[n];
+        int[] ages = new int[n];
+        for (int i = 0; i < n; i++) {
+            String s = name.apply(users[i]);
+            names[i] = s;
+            ages[i] = age.applyAsInt(users[i]);
+            hi[i] = pack(s, 0);
+            lo[i] = pack(s, 4);
+        }
+
+        int[] perm = new int[n];
+        for (int i = 0; i < n; i++) perm[i] = i;
+        int[] scratch = new int[n];
+        int[] counts = new int[1 << 16];
+        // LSD: du caractère 7 au caractère 0, chaque passe est stable
+        for (int d = PREFIX_CHARS - 1; d >= 0; d--) {
+            long[] keys = d < 4 ? hi : lo;
+            int shift = (3 - (d & 3)) * 16;
+            if (radixPass(perm, scratch, keys, shift, counts)) {
+                int[] t = perm;
+                perm = scratch;
+                scratch = t;
+            }
+        }
+
+        // Départage des préfixes égaux: longueur puis âge si les noms tiennent dans le préfixe
+        int start = 0;
+        while (start < n) {
+            int end = start + 1;
+            while (end < n && hi[perm[end]] == hi[perm[start]] && lo[perm[end]] == lo[perm[start]]) end++;
+            if (end - start > 1) sortTies(perm, scratch, start, end, names, ages);
+            start = end;
+        }
+
+        Object[] sorted = new Object[n];
+        for (int i = 0; i < n; i++) sorted[i] = users[perm[i]];
+        System.arraycopy(sorted, 0, users, 0, n);
+    }
+
+    // Quatre caractères à partir de from, complétés par 0 (les chaînes plus courtes passent avant)
+    private static long pack(String s, int from) {
+        long key = 0;
+        for (int i = from; i < from + 4; i++) {
+            key = (key << 16) | (i < s.length() ? s.charAt(i) : 0);
+        }
+        return key;
+    }
+
+    // Renvoie false si tous les éléments partagent le même chiffre (passe inutile)
+    private static boolean radixPass(int[] src, int[] dst, long[] keys, int shift, int[] counts) {
+        Arrays.fill(counts, 0);
+        for (int i : src) counts[(int) (keys[i] >>> shift) & 0xFFFF]++;
+        if (counts[(int) (keys[src[0]] >>> shift) & 0xFFFF] == src.length) return false;
+        int sum = 0;
+        for (int b = 0; b < counts.length; b++) {
+            int c = counts[b];
+            counts[b] = sum;
+            sum += c;
+        }
+        for (int i : src) dst[counts[(int) (keys[i] >>> shift) & 0xFFFF]++] = i;
+        return true;
+    }
+
+    // Tri fusion stable des indices, tri par insertion sur les petits groupes
+    private static void sortTies(int[] perm, int[] tmp, int from, int to, String[] names, int[] ages) {
+        if (to - from <= 16) {
+            for (int i = from + 1; i < to; i++) {
+                int x = perm[i];
+                int j = i - 1;
+                while (j >= from && compare(perm[j], x, names, ages) > 0) {
+                    perm[j + 1] = perm[j];
+                    j--;
+                }
+                perm[j + 1] = x;
+            }
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        sortTies(perm, tmp, from, mid, names, ages);
+        sortTies(perm, tmp, mid, to, names, ages);
+        if (compare(perm[mid - 1], perm[mid], names, ages) <= 0) return;
+        System.arraycopy(perm, from, tmp, from, to - from);
+        int i = from, j = mid, k = from;
+        while (i < mid && j < to) perm[k++] = compare(tmp[i], tmp[j], names, ages) <= 0 ? tmp[i++] : tmp[j++];
+        while (i < mid) perm[k++] = tmp[i++];
+        while (j < to) perm[k++] = tmp[j++];
+    }
+
+    private static int compare(int a, int b, String[] names, int[] ages) {
+        String na = names[a], nb = names[b];
+        int c = na.length() <= PREFIX_CHARS && nb.length() <= PREFIX_CHARS
+                ? Integer.compare(na.length(), nb.length())   // préfixe identique: seule la longueur diffère
+                : na.compareTo(nb);
+        return c != 0 ? c : Integer.compare(ages[a], ages[b]);
+    }
+
+    public static void main(String[] args) {
+        var users = new ArrayList<>(List.of(
+                new User("Bob", 25), new User("Alice", 42), new User("Alice", 30), new User("Alicia", 19)));
+        sort(users);
+        System.out.println(users);
+        // [User[name=Alice, age=30], User[name=Alice, age=42], User[name=Alicia, age=19], User[name=Bob, age=25]]
+    }
+}
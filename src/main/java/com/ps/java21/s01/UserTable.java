@@ -0,0 +1,144 @@
+package com.ps.java21.s01;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Stockage colonnaire (struct-of-arrays) de User: un int[] pour les âges,
+ * un int[] de codes de nom, et un dictionnaire partagé des noms distincts.
+ * Aucun objet User n'est créé à l'ajout, au parcours ni au filtrage.
+ */
+public final class UserTable {
+
+    @FunctionalInterface
+    public interface RowVisitor {
+        void visit(int row, String name, int age);
+    }
+
+    // Dictionnaire: nom -> code, et code -> nom
+    private final Map<String, Integer> codes = new HashMap<>();
+    private String[] dictionary = new String[16];
+    private int dictionarySize;
+
+    private int[] nameCodes;
+    private int[] ages;
+    private int size;
+
+    public UserTable() { this(16); }
+
+    public UserTable(int initialCapacity) {
+        nameCodes = new int[Math.max(initialCapacity, 1)];
+        ages = new int[nameCodes.length];
+    }
+
+    public int append(String name, int age) {
+        ensureCapacity(size + 1);
+        nameCodes[size] = encode(name);
+        ages[size] = age;
+        return size++;
+    }
+
+    public int append(User user) { return append(user.name(), user.age()); }
+
+    public void appendAll(Collection<User> users) {
+        ensureCapacity(size + users.size());
+        for (User u : users) {
+            nameCodes[size] = encode(u.name());
+            ages[size] = u.age();
+            size++;
+        }
+    }
+
+    public int size() { return size; }
+    public int distinctNames() { return dictionarySize; }
+
+    public String name(int row) { return dictionary[nameCodes[checkRow(row)]]; }
+    public int age(int row) { return ages[checkRow(row)]; }
+    public int nameCode(int row) { return nameCodes[checkRow(row)]; }
+
+    // Matérialisation explicite, à réserver aux frontières de l'API
+    public User toUser(int row) { return new User(name(row), age(row)); }
+
+    public void forEach(RowVisitor visitor) {
+        for (int i = 0; i < size; i++) {
+            visitor.visit(i, dictionary[nameCodes[i]], ages[i]);
+        }
+    }
+
+    public int countByAge(int minInclusive, int maxInclusive) {
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            int a = ages[i];
+            if (a >= minInclusive && a <= maxInclusive) count++;
+        }
+        return count;
+    }
+
+    public Selection filterByAge(int minInclusive, int maxInclusive) {
+        int[] rows = new int[countByAge(minInclusive, maxInclusive)];
+        int n = 0;
+        for (int i = 0; i < size && n < rows.length; i++) {
+            int a = ages[i];
+            if (a >= minInclusive && a <= maxInclusive) rows[n++] = i;
+        }
+        return new Selection(this, rows);
+    }
+
+    /** Vue légère sur un sous-ensemble de lignes: seuls les indices sont copiés. */
+    public static final class Selection {
+        private final UserTable table;
+        private final int[] rows;
+
+        private Selection(UserTable table, int[] rows) {
+            this.table = table;
+            this.rows = rows;
+        }
+
+        public int size() { return rows.length; }
+        public int row(int i) { return rows[i]; }
+        public String name(int i) { return table.name(rows[i]); }
+        public int age(int i) { return table.age(rows[i]); }
+
+        public void forEach(RowVisitor visitor) {
+            for (int r : rows) {
+                visitor.visit(r, table.dictionary[table.nameCodes[r]], table.ages[r]);
+            }
+        }
+    }
+
+    private int encode(String name) {
+        Integer code = codes.get(name);
+        if (code != null) return code;
+        if (dictionarySize == dictionary.length) {
+            dictionary = Arrays.copyOf(dictionary, dictionarySize * 2);
+        }
+        dictionary[dictionarySize] = name;
+        codes.put(name, dictionarySize);
+        return dictionarySize++;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= nameCodes.length) return;
+        int capacity = Math.max(required, nameCodes.length + (nameCodes.length >> 1));
+        nameCodes = Arrays.copyOf(nameCodes, capacity);
+        ages = Arrays.copyOf(ages, capacity);
+    }
+
+    private int checkRow(int row) {
+        if (row < 0 || row >= size) throw new IndexOutOfBoundsException("row " + row + " out of [0, " + size + ")");
+        return row;
+    }
+
+    public static void main(String[] args) {
+        var table = new UserTable();
+        table.append(new User("Alice", 30));
+        table.append(new User("Bob", 25));
+        table.append(new User("Alice", 42));
+
+        var adults = table.filterByAge(26, 99);
+        adults.forEach((row, name, age) -> System.out.println(row + ": " + name + " a " + age + " ans"));
+        System.out.println(table.distinctNames() + " noms distincts pour " + table.size() + " lignes");
+    }
+}
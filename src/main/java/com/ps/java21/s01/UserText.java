@@ -0,0 +1,529 @@
+package com.ps.java21.s01;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Import/export texte de User en flux (CSV ou JSON Lines), directement sur des octets:
+ * ni String par ligne lue, ni Integer.parseInt(substring), ni toString() par ligne écrite.
+ * <pre>
+ * CSV  : name,age           (guillemets RFC 4180 si besoin; champ vide non quoté = null)
+ * JSON : {"name":"…","age":30}  un objet par ligne; un tableau [ {…}, {…} ] est aussi accepté en lecture
+ * </pre>
+ */
+public final class UserText {
+    private UserText() {}
+
+    public enum Format { CSV, JSON }
+
+    /** Reçoit le nom en UTF-8 (length = -1 pour null); les octets ne sont valides que pendant l'appel. */
+    @FunctionalInterface
+    public interface RecordHandler {
+        void onRecord(byte[] utf8, int offset, int length, int age);
+    }
+
+    public static String decodeName(byte[] utf8, int offset, int length) {
+        return length < 0 ? null : new String(utf8, offset, length, StandardCharsets.UTF_8);
+    }
+
+    public static final class Reader {
+        private static final int INCOMPLETE = -1;
+
+        private final ReadableByteChannel in;
+        private final Format format;
+        private ByteBuffer buf;
+        private byte[] scratch = new byte[64];
+        private boolean skipHeader;
+        private boolean eof;
+
+        // Résultat du dernier enregistrement analysé
+        private boolean hasRecord;
+        private byte[] nameArray;
+        private int nameOffset;
+        private int nameLength;
+        private int age;
+
+        public Reader(ReadableByteChannel in, Format format) { this(in, format, 1 << 16, false); }
+
+        public Reader(ReadableByteChannel in, Format format, int bufferSize, boolean csvHeader) {
+            this.in = in;
+            this.format = format;
+            this.buf = ByteBuffer.allocate(bufferSize);
+            this.skipHeader = csvHeader && format == Format.CSV;
+            buf.flip();
+        }
+
+        /** Lit tout le flux; renvoie le nombre d'enregistrements. */
+        public long read(RecordHandler handler) throws IOException {
+            long records = 0;
+            byte[] a = buf.array();
+            while (true) {
+                int next = format == Format.CSV ? parseCsv(a, buf.position(), buf.limit())
+                                                : parseJson(a, buf.position(), buf.limit());
+                if (next >= 0) {
+                    buf.position(next);
+                    if (hasRecord) {
+                        handler.onRecord(nameArray, nameOffset, nameLength, age);
+                        records++;
+                    }
+                    continue;
+                }
+                if (eof) {
+                    if (buf.hasRemaining()) throw new IllegalArgumentException("truncated record at end of input");
+                    return records;
+                }
+                fill();
+                a = buf.array();
+            }
+        }
+
+        public long readUsers(Consumer<User> action) throws IOException {
+            return read((b, off, len, a) -> action.accept(new User(decodeName(b, off, len), a)));
+        }
+
+        private void fill() throws IOException {
+            buf.compact();
+            if (!buf.hasRemaining()) {
+                // Un enregistrement plus grand que le tampon: on l'agrandit
+                buf = ByteBuffer.allocate(buf.capacity() * 2).put(buf.flip());
+            }
+            if (in.read(buf) < 0) eof = true;
+            buf.flip();
+        }
+
+        // --- CSV ---
+
+        private int parseCsv(byte[] a, int p, int limit) {
+            hasRecord = false;
+            if (skipHeader) {
+                int nl = indexOf(a, p, limit, (byte) '\n');
+                if (nl < 0) return eof ? limit : INCOMPLETE;
+                skipHeader = false;
+                return nl + 1;
+            }
+            if (p == limit) return INCOMPLETE;
+            if (a[p] == '\n' || a[p] == '\r') return p + 1;  // ligne vide
+
+            if (a[p] == '"') {
+                int len = 0;
+                int i = p + 1;
+                while (true) {
+                    if (i >= limit) return INCOMPLETE;
+                    byte b = a[i++];
+                    if (b == '"') {
+                        if (i >= limit) return INCOMPLETE;
+                        if (a[i] != '"') break;
+                        i++;
+                    }
+                    if (len == scratch.length) scratch = Arrays.copyOf(scratch, len * 2);
+                    scratch[len++] = b;
+                }
+                nameArray = scratch;
+                nameOffset = 0;
+                nameLength = len;
+                p = i;
+            } else {
+                int comma = p;
+                while (comma < limit && a[comma] != ',') {
+                    if (a[comma] == '\n') throw malformed("missing ',' in CSV line");
+                    comma++;
+                }
+                if (comma == limit) return INCOMPLETE;
+                nameArray = a;
+                nameOffset = p;
+                nameLength = comma - p;
+                if (nameLength == 0) {
+                    nameArray = null;
+                    nameLength = -1;
+                }
+                p = comma;
+            }
+            if (p >= limit) return INCOMPLETE;
+            if (a[p] != ',') throw malformed("expected ',' after name");
+            p = parseInt(a, p + 1, limit);
+            if (p < 0) return INCOMPLETE;
+            if (p < limit && a[p] == '\r') p++;
+            if (p < limit) {
+                if (a[p] != '\n') throw malformed("unexpected character after age");
+                p++;
+            } else if (!eof) {
+                return INCOMPLETE;
+            }
+            hasRecord = true;
+            return p;
+        }
+
+        // --- JSON ---
+
+        private int parseJson(byte[] a, int p, int limit) {
+            hasRecord = false;
+            int start = p;
+            p = skipJsonSeparators(a, p, limit);
+            if (p >= limit) return p > start ? p : INCOMPLETE;  // séparateurs consommés
+            if (a[p] != '{') throw malformed("expected '{'");
+            boolean hasName = false, hasAge = false;
+            p++;
+            while (true) {
+                p = skipWhitespace(a, p, limit);
+                if (p >= limit) return INCOMPLETE;
+                if (a[p] == '}') break;
+                if (a[p] != '"') throw malformed("expected field name");
+                int keyStart = p + 1;
+                int keyEnd = indexOf(a, keyStart, limit, (byte) '"');
+                if (keyEnd < 0) return INCOMPLETE;
+                p = skipWhitespace(a, keyEnd + 1, limit);
+                if (p >= limit) return INCOMPLETE;
+                if (a[p] != ':') throw malformed("expected ':'");
+                p = skipWhitespace(a, p + 1, limit);
+                if (p >= limit) return INCOMPLETE;
+
+                if (keyEquals(a, keyStart, keyEnd, "name")) {
+                    p = parseJsonString(a, p, limit);
+                    hasName = true;
+                } else if (keyEquals(a, keyStart, keyEnd, "age")) {
+                    p = parseInt(a, p, limit);
+                    hasAge = true;
+                } else {
+                    p = skipJsonValue(a, p, limit);
+                }
+                if (p < 0) return INCOMPLETE;
+                p = skipWhitespace(a, p, limit);
+                if (p >= limit) return INCOMPLETE;
+                if (a[p] == ',') p++;
+                else if (a[p] != '}') throw malformed("expected ',' or '}'");
+            }
+            if (!hasAge) throw malformed("missing \"age\"");
+            if (!hasName) {
+                nameArray = null;
+                nameLength = -1;
+            }
+            hasRecord = true;
+            return p + 1;
+        }
+
+        private int parseJsonString(byte[] a, int p, int limit) {
+            if (a[p] == 'n') {
+                if (p + 4 > limit) return INCOMPLETE;
+                if (a[p + 1] != 'u' || a[p + 2] != 'l' || a[p + 3] != 'l') throw malformed("expected string or null");
+                nameArray = null;
+                nameLength = -1;
+                return p + 4;
+            }
+            if (a[p] != '"') throw malformed("expected string");
+            int start = ++p;
+            // Chemin rapide: pas d'échappement, le nom est lu en place
+            while (p < limit && a[p] != '"' && a[p] != '\\') p++;
+            if (p >= limit) return INCOMPLETE;
+            if (a[p] == '"') {
+                nameArray = a;
+                nameOffset = start;
+                nameLength = p - start;
+                return p + 1;
+            }
+            int len = p - start;
+            if (len > scratch.length) scratch = Arrays.copyOf(scratch, len * 2);
+            System.arraycopy(a, start, scratch, 0, len);
+            while (true) {
+                if (p >= limit) return INCOMPLETE;
+                byte b = a[p++];
+                if (b == '"') break;
+                if (len + 4 > scratch.length) scratch = Arrays.copyOf(scratch, scratch.length * 2);
+                if (b != '\\') {
+                    scratch[len++] = b;
+                    continue;
+                }
+                if (p >= limit) return INCOMPLETE;
+                byte e = a[p++];
+                switch (e) {
+                    case '"', '\\', '/' -> scratch[len++] = e;
+                    case 'b' -> scratch[len++] = '\b';
+                    case 'f' -> scratch[len++] = '\f';
+                    case 'n' -> scratch[len++] = '\n';
+                    case 'r' -> scratch[len++] = '\r';
+                    case 't' -> scratch[len++] = '\t';
+                    case 'u' -> {
+                        if (p + 4 > limit) return INCOMPLETE;
+                        int c = hex(a, p);
+                        p += 4;
+                        // Paire de substitution \\uD83D\\uDE00
+                        if (Character.isHighSurrogate((char) c)) {
+                            if (p + 6 > limit) return INCOMPLETE;
+                            if (a[p] == '\\' && a[p + 1] == 'u') {
+                                int low = hex(a, p + 2);
+                                if (Character.isLowSurrogate((char) low)) {
+                                    c = Character.toCodePoint((char) c, (char) low);
+                                    p += 6;
+                                }
+                            }
+                        }
+                        len = putCodePoint(c, len);
+                    }
+                    default -> throw malformed("invalid escape \\" + (char) e);
+                }
+            }
+            nameArray = scratch;
+            nameOffset = 0;
+            nameLength = len;
+            return p;
+        }
+
+        private int putCodePoint(int c, int len) {
+            if (c < 0x80) {
+                scratch[len++] = (byte) c;
+            } else if (c < 0x800) {
+                scratch[len++] = (byte) (0xC0 | (c >> 6));
+                scratch[len++] = (byte) (0x80 | (c & 0x3F));
+            } else if (c < 0x10000) {
+                if (Character.isSurrogate((char) c)) c = '?';
+                if (c < 0x80) {
+                    scratch[len++] = (byte) c;
+                } else {
+                    scratch[len++] = (byte) (0xE0 | (c >> 12));
+                    scratch[len++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                    scratch[len++] = (byte) (0x80 | (c & 0x3F));
+                }
+            } else {
+                scratch[len++] = (byte) (0xF0 | (c >> 18));
+                scratch[len++] = (byte) (0x80 | ((c >> 12) & 0x3F));
+                scratch[len++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                scratch[len++] = (byte) (0x80 | (c & 0x3F));
+            }
+            return len;
+        }
+
+        private int skipJsonValue(byte[] a, int p, int limit) {
+            if (a[p] == '"') {
+                for (int i = p + 1; i < limit; i++) {
+                    if (a[i] == '\\') i++;
+                    else if (a[i] == '"') return i + 1;
+                }
+                return INCOMPLETE;
+            }
+            if (a[p] == '{' || a[p] == '[') throw malformed("nested values are not supported");
+            while (p < limit && a[p] != ',' && a[p] != '}' && !isWhitespace(a[p])) p++;
+            return p < limit ? p : INCOMPLETE;
+        }
+
+        private int skipJsonSeparators(byte[] a, int p, int limit) {
+            while (p < limit && (isWhitespace(a[p]) || a[p] == '[' || a[p] == ']' || a[p] == ',')) p++;
+            return p;
+        }
+
+        // --- commun ---
+
+        // Lecture de l'entier directement depuis les octets
+        private int parseInt(byte[] a, int p, int limit) {
+            boolean negative = p < limit && a[p] == '-';
+            if (negative) p++;
+            long value = 0;
+            int start = p;
+            while (p < limit) {
+                int d = a[p] - '0';
+                if (d < 0 || d > 9) break;
+                value = value * 10 + d;
+                if (value > Integer.MAX_VALUE + 1L) throw malformed("age out of int range");
+                p++;
+            }
+            if (p == limit && !eof) return INCOMPLETE;
+            if (p == start) throw malformed("expected digits");
+            if (p < limit && (a[p] == '.' || a[p] == 'e' || a[p] == 'E')) throw malformed("age must be an integer");
+            value = negative ? -value : value;
+            if (value > Integer.MAX_VALUE) throw malformed("age out of int range");
+            age = (int) value;
+            return p;
+        }
+
+        private static int indexOf(byte[] a, int from, int limit, byte b) {
+            for (int i = from; i < limit; i++) if (a[i] == b) return i;
+            return -1;
+        }
+
+        private static int skipWhitespace(byte[] a, int p, int limit) {
+            while (p < limit && isWhitespace(a[p])) p++;
+            return p;
+        }
+
+        private static boolean isWhitespace(byte b) { return b == ' ' || b == '\n' || b == '\r' || b == '\t'; }
+
+        private static boolean keyEquals(byte[] a, int from, int to, String key) {
+            if (to - from != key.length()) return false;
+            for (int i = 0; i < key.length(); i++) if (a[from + i] != key.charAt(i)) return false;
+            return true;
+        }
+
+        private int hex(byte[] a, int p) {
+            int v = 0;
+            for (int i = p; i < p + 4; i++) {
+                int d = Character.digit(a[i], 16);
+                if (d < 0) throw malformed("invalid \\u escape");
+                v = (v << 4) | d;
+            }
+            return v;
+        }
+
+        private static IllegalArgumentException malformed(String message) {
+            return new IllegalArgumentException("malformed input: " + message);
+        }
+    }
+
+    public static final class Writer implements Flushable, AutoCloseable {
+        private static final byte[] JSON_NAME = "{\"name\":".getBytes(StandardCharsets.US_ASCII);
+        private static final byte[] JSON_AGE = ",\"age\":".getBytes(StandardCharsets.US_ASCII);
+        private static final byte[] JSON_NULL = "null".getBytes(StandardCharsets.US_ASCII);
+        private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+        private final WritableByteChannel out;
+        private final Format format;
+        private byte[] a;
+        private int pos;
+
+        public Writer(WritableByteChannel out, Format format) { this(out, format, 1 << 16); }
+
+        public Writer(WritableByteChannel out, Format format, int bufferSize) {
+            this.out = out;
+            this.format = format;
+            this.a = new byte[bufferSize];
+        }
+
+        public void write(User u) throws IOException { write(u.name(), u.age()); }
+
+        public void write(String name, int age) throws IOException {
+            // Pire cas: 6 octets par caractère (échappement \\u00XX en JSON) + structure
+            int worst = (name == null ? 4 : name.length() * 6) + 32;
+            if (a.length - pos < worst) {
+                flush();
+                if (a.length < worst) a = new byte[worst];
+            }
+            if (format == Format.CSV) writeCsv(name, age);
+            else writeJson(name, age);
+        }
+
+        private void writeCsv(String name, int age) {
+            if (name != null) {
+                boolean quote = name.isEmpty() || needsCsvQuotes(name);
+                if (quote) a[pos++] = '"';
+                putUtf8(name, quote ? Format.CSV : null);
+                if (quote) a[pos++] = '"';
+            }
+            a[pos++] = ',';
+            putInt(age);
+            a[pos++] = '\n';
+        }
+
+        private void writeJson(String name, int age) {
+            System.arraycopy(JSON_NAME, 0, a, pos, JSON_NAME.length);
+            pos += JSON_NAME.length;
+            if (name == null) {
+                System.arraycopy(JSON_NULL, 0, a, pos, JSON_NULL.length);
+                pos += JSON_NULL.length;
+            } else {
+                a[pos++] = '"';
+                putUtf8(name, Format.JSON);
+                a[pos++] = '"';
+            }
+            System.arraycopy(JSON_AGE, 0, a, pos, JSON_AGE.length);
+            pos += JSON_AGE.length;
+            putInt(age);
+            a[pos++] = '}';
+            a[pos++] = '\n';
+        }
+
+        private static boolean needsCsvQuotes(String s) {
+            for (int i = 0; i < s.length(); i++) {
+                char c = s.charAt(i);
+                if (c == ',' || c == '"' || c == '\n' || c == '\r') return true;
+            }
+            return false;
+        }
+
+        // UTF-8 écrit caractère par caractère, avec l'échappement du format
+        private void putUtf8(String s, Format escape) {
+            int len = s.length();
+            for (int i = 0; i < len; i++) {
+                char c = s.charAt(i);
+                if (c < 0x80) {
+                    if (escape == Format.CSV && c == '"') {
+                        a[pos++] = '"';
+                    } else if (escape == Format.JSON && (c == '"' || c == '\\' || c < 0x20)) {
+                        a[pos++] = '\\';
+                        if (c >= 0x20) {
+                            a[pos++] = (byte) c;
+                            continue;
+                        }
+                        a[pos++] = 'u';
+                        a[pos++] = '0';
+                        a[pos++] = '0';
+                        a[pos++] = HEX[c >> 4];
+                        a[pos++] = HEX[c & 0xF];
+                        continue;
+                    }
+                    a[pos++] = (byte) c;
+                } else if (c < 0x800) {
+                    a[pos++] = (byte) (0xC0 | (c >> 6));
+                    a[pos++] = (byte) (0x80 | (c & 0x3F));
+                } else if (Character.isHighSurrogate(c) && i + 1 < len && Character.isLowSurrogate(s.charAt(i + 1))) {
+                    int cp = Character.toCodePoint(c, s.charAt(++i));
+                    a[pos++] = (byte) (0xF0 | (cp >> 18));
+                    a[pos++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                    a[pos++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                    a[pos++] = (byte) (0x80 | (cp & 0x3F));
+                } else if (Character.isSurrogate(c)) {
+                    a[pos++] = '?';
+                } else {
+                    a[pos++] = (byte) (0xE0 | (c >> 12));
+                    a[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                    a[pos++] = (byte) (0x80 | (c & 0x3F));
+                }
+            }
+        }
+
+        // Chiffres écrits de droite à gauche, sans Integer.toString
+        private void putInt(int v) {
+            long value = v;
+            if (value < 0) {
+                a[pos++] = '-';
+                value = -value;
+            }
+            int digits = 1;
+            for (long t = value; t >= 10; t /= 10) digits++;
+            for (int i = pos + digits - 1; i >= pos; i--) {
+                a[i] = (byte) ('0' + value % 10);
+                value /= 10;
+            }
+            pos += digits;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            var bb = ByteBuffer.wrap(a, 0, pos);
+            while (bb.hasRemaining()) out.write(bb);
+            pos = 0;
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+            out.close();
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        var bytes = new java.io.ByteArrayOutputStream();
+        try (var writer = new Writer(java.nio.channels.Channels.newChannel(bytes), Format.JSON)) {
+            writer.write(new User("Alice", 30));
+            writer.write(new User("Bob \"the builder\"", 25));
+        }
+        System.out.print(bytes);
+        // {"name":"Alice","age":30}
+        // {"name":"Bob \"the builder\"","age":25}
+
+        var reader = new Reader(java.nio.channels.Channels.newChannel(new java.io.ByteArrayInputStream(bytes.toByteArray())), Format.JSON);
+        reader.readUsers(System.out::println);
+    }
+}
@@ -1,6 +1,29 @@
 package com.ps.java21.s02;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
 public final class ConsoleGreeter implements Greeter {
     @Override
     public String greet(String name) { return "Hello " + name; }
+
+    // Sans allocation: préfixe constant puis nom, directement dans le tampon
+    @Override
+    public StringBuilder greetTo(StringBuilder out, CharSequence name) { return out.append("Hello ").append(name); }
+
+    @Override
+    public Appendable greetTo(Appendable out, CharSequence name) throws IOException { return out.append("Hello ").append(name); }
+
+    @Override
+    public StringBuilder greetCasualTo(StringBuilder out, CharSequence name) { return out.append("Hi ").append(name); }
+
+    @Override
+    public Appendable greetCasualTo(Appendable out, CharSequence name) throws IOException { return out.append("Hi ").append(name); }
+
+    // Préfixe pré-encodé, nom copié tel quel s'il est ASCII: ni String ni CharsetEncoder
+    @Override
+    public ByteBuffer greetTo(ByteBuffer out, CharSequence name) { return GreetingBytes.put(out, GreetingBytes.HELLO, name); }
+
+    @Override
+    public ByteBuffer greetCasualTo(ByteBuffer out, CharSequence name) { return GreetingBytes.put(out, GreetingBytes.HI, name); }
 }
@@ -1,6 +1,20 @@
 package com.ps.java21.s02;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
 public interface Greeter {
     String greet(String name);
     default String greetCasual(String name) { return "Hi " + name; }
+
+    // Rendu dans un tampon réutilisé; par défaut via greet(), à redéfinir pour éviter la String
+    default StringBuilder greetTo(StringBuilder out, CharSequence name) { return out.append(greet(name.toString())); }
+    default Appendable greetTo(Appendable out, CharSequence name) throws IOException { return out.append(greet(name.toString())); }
+    default StringBuilder greetCasualTo(StringBuilder out, CharSequence name) { return out.append(greetCasual(name.toString())); }
+    default Appendable greetCasualTo(Appendable out, CharSequence name) throws IOException { return out.append(greetCasual(name.toString())); }
+
+    // Rendu UTF-8 dans un ByteBuffer; BufferOverflowException (buffer inchangé) si la place manque
+    default ByteBuffer greetTo(ByteBuffer out, CharSequence name) { return out.put(greet(name.toString()).getBytes(StandardCharsets.UTF_8)); }
+    default ByteBuffer greetCasualTo(ByteBuffer out, CharSequence name) { return out.put(greetCasual(name.toString()).getBytes(StandardCharsets.UTF_8)); }
 }
@@ -0,0 +1,169 @@
+package com.ps.java21.s02;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Greeters nommés (locale, marque...) choisis à chaque requête.
+ * Lecture sans verrou: la table est une Map immuable, remplacée en entier à chaque
+ * enregistrement (copy-on-write); un lecteur voit toujours une version complète.
+ * Option: mémo borné des salutations déjà rendues, par greeter, en LRU approché (CLOCK):
+ * un hit ne prend aucun verrou, seule l'insertion d'un nom absent est sérialisée.
+ * Réenregistrer une clé repart d'un mémo vide.
+ */
+public final class GreeterRegistry {
+
+    public record Stats(long hits, long misses, int greeters) {
+        public double hitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+    }
+
+    private final AtomicReference<Map<String, Entry>> table = new AtomicReference<>(Map.of());
+    private final int memoCapacity;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /** Registre sans mémo. */
+    public GreeterRegistry() { this(0); }
+
+    /** memoCapacity: salutations gardées par greeter et par forme (greet, greetCasual); 0 = pas de mémo. */
+    public GreeterRegistry(int memoCapacity) {
+        if (memoCapacity < 0) throw new IllegalArgumentException("memoCapacity must be >= 0");
+        this.memoCapacity = memoCapacity;
+    }
+
+    public void register(String key, Greeter greeter) {
+        Objects.requireNonNull(key, "key");
+        var entry = new Entry(greeter, memo(), memo());
+        table.updateAndGet(current -> {
+            var copy = new HashMap<>(current);
+            copy.put(key, entry);
+            return Map.copyOf(copy);
+        });
+    }
+
+    public boolean unregister(String key) {
+        var before = table.getAndUpdate(current -> {
+            if (!current.containsKey(key)) return current;
+            var copy = new HashMap<>(current);
+            copy.remove(key);
+            return Map.copyOf(copy);
+        });
+        return before.containsKey(key);
+    }
+
+    /** Greeter enregistré sous key, ou null. */
+    public Greeter greeter(String key) {
+        Entry e = table.get().get(key);
+        return e == null ? null : e.greeter();
+    }
+
+    public Set<String> keys() { return table.get().keySet(); }
+
+    public String greet(String key, String name) {
+        Entry e = entry(key);
+        return e.greetMemo() == null ? e.greeter().greet(name) : memoized(e.greetMemo(), name, e.greeter(), false);
+    }
+
+    public String greetCasual(String key, String name) {
+        Entry e = entry(key);
+        return e.casualMemo() == null ? e.greeter().greetCasual(name) : memoized(e.casualMemo(), name, e.greeter(), true);
+    }
+
+    public Stats stats() { return new Stats(hits.sum(), misses.sum(), table.get().size()); }
+
+    private Entry entry(String key) {
+        Entry e = table.get().get(key);
+        if (e == null) throw new IllegalArgumentException("no greeter registered for " + key);
+        return e;
+    }
+
+    private String memoized(Memo memo, String name, Greeter greeter, boolean casual) {
+        if (name == null) return casual ? greeter.greetCasual(null) : greeter.greet(null);
+        String cached = memo.get(name);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        // Rendu hors verrou: deux threads peuvent rendre le même nom, le premier inséré est gardé
+        String rendered = casual ? greeter.greetCasual(name) : greeter.greet(name);
+        memo.put(name, rendered);
+        return rendered;
+    }
+
+    private Memo memo() { return memoCapacity == 0 ? null : new Memo(memoCapacity); }
+
+    private record Entry(Greeter greeter, Memo greetMemo, Memo casualMemo) { }
+
+    /**
+     * LRU approché par l'algorithme CLOCK (seconde chance): une lecture ne fait que lever le bit
+     * "référencé" de l'entrée, sans verrou ni réordonnancement; à l'insertion, l'aiguille parcourt
+     * l'anneau, épargne une fois les entrées référencées et évince la première qui ne l'est pas.
+     */
+    private static final class Memo {
+        private final ConcurrentHashMap<String, Slot> map;
+        private final Slot[] ring;
+        private int size;
+        private int hand;
+
+        Memo(int capacity) {
+            map = new ConcurrentHashMap<>(capacity * 2);
+            ring = new Slot[capacity];
+        }
+
+        String get(String name) {
+            Slot slot = map.get(name);
+            if (slot == null) return null;
+            if (!slot.referenced) slot.referenced = true;
+            return slot.rendered;
+        }
+
+        synchronized void put(String name, String rendered) {
+            if (map.containsKey(name)) return;
+            var slot = new Slot(name, rendered);
+            if (size < ring.length) {
+                ring[size++] = slot;
+            } else {
+                while (ring[hand].referenced) {
+                    ring[hand].referenced = false;
+                    hand = (hand + 1) % ring.length;
+                }
+                map.remove(ring[hand].name);
+                ring[hand] = slot;
+                hand = (hand + 1) % ring.length;
+            }
+            map.put(name, slot);
+        }
+    }
+
+    private static final class Slot {
+        final String name;
+        final String rendered;
+        // Course bénigne: au pire une seconde chance de plus ou de moins
+        boolean referenced;
+
+        Slot(String name, String rendered) {
+            this.name = name;
+            this.rendered = rendered;
+        }
+    }
+
+    public static void main(String[] args) {
+        var registry = new GreeterRegistry(1024);
+        registry.register("en", new ConsoleGreeter());
+        registry.register("fr", name -> "Bonjour " + name);
+
+        System.out.println(registry.greet("fr", "Alice"));        // Bonjour Alice
+        System.out.println(registry.greet("fr", "Alice"));        // Bonjour Alice (depuis le mémo)
+        System.out.println(registry.greetCasual("en", "Bob"));    // Hi Bob
+        System.out.println(registry.stats());                     // Stats[hits=1, misses=2, greeters=2]
+    }
+}
@@ -0,0 +1,92 @@
+package com.ps.java21.s02;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Rendu UTF-8 des salutations directement dans un ByteBuffer: préfixes constants encodés une fois,
+ * nom encodé caractère par caractère (sans CharsetEncoder ni CharBuffer à allouer). Buffer sur
+ * tableau: écriture dans le tableau; buffer direct: encodage par blocs dans un tableau de travail,
+ * puis put en bloc.
+ */
+final class GreetingBytes {
+    private GreetingBytes() {}
+
+    static final byte[] HELLO = "Hello ".getBytes(StandardCharsets.US_ASCII);
+    static final byte[] HI = "Hi ".getBytes(StandardCharsets.US_ASCII);
+
+    // 64 caractères (+1 pour ne pas couper une paire de substitution) font au plus 195 octets
+    private static final int CHUNK_CHARS = 64;
+    private static final ThreadLocal<byte[]> SCRATCH = ThreadLocal.withInitial(() -> new byte[256]);
+
+    /** Écrit prefix + name; si la place manque, lève BufferOverflowException sans rien écrire. */
+    static ByteBuffer put(ByteBuffer out, byte[] prefix, CharSequence name) {
+        int n = name.length();
+        if (out.remaining() < prefix.length + 3 * n && out.remaining() < prefix.length + utf8Length(name)) {
+            throw new BufferOverflowException();
+        }
+        out.put(prefix);
+        if (out.hasArray()) {
+            int at = encodeUtf8(name, 0, n, out.array(), out.arrayOffset() + out.position());
+            out.position(at - out.arrayOffset());
+            return out;
+        }
+        return putUtf8(out, name);
+    }
+
+    /** UTF-8 vers un buffer sans tableau accessible (direct): blocs encodés à part, un put par bloc. */
+    private static ByteBuffer putUtf8(ByteBuffer out, CharSequence s) {
+        var scratch = SCRATCH.get();
+        int len = s.length();
+        for (int from = 0; from < len; ) {
+            int to = Math.min(from + CHUNK_CHARS, len);
+            if (to < len && Character.isHighSurrogate(s.charAt(to - 1))) to++;
+            out.put(scratch, 0, encodeUtf8(s, from, to, scratch, 0));
+            from = to;
+        }
+        return out;
+    }
+
+    // Encode s[from, to) dans dst à partir de at; rend la position qui suit le dernier octet
+    private static int encodeUtf8(CharSequence s, int from, int to, byte[] dst, int at) {
+        for (int i = from; i < to; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                dst[at++] = (byte) c;
+            } else if (c < 0x800) {
+                dst[at++] = (byte) (0xC0 | (c >> 6));
+                dst[at++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < to && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, s.charAt(++i));
+                dst[at++] = (byte) (0xF0 | (cp >> 18));
+                dst[at++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                dst[at++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                dst[at++] = (byte) (0x80 | (cp & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                dst[at++] = (byte) '?';
+            } else {
+                dst[at++] = (byte) (0xE0 | (c >> 12));
+                dst[at++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                dst[at++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        return at;
+    }
+
+    // Substitution isolée comptée 1 octet ('?'), comme String.getBytes(UTF_8)
+    private static int utf8Length(CharSequence s) {
+        int len = s.length();
+        int bytes = len;
+        for (int i = 0; i < len; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) continue;
+            if (c < 0x800) bytes += 1;
+            else if (Character.isHighSurrogate(c) && i + 1 < len && Character.isLowSurrogate(s.charAt(i + 1))) {
+                bytes += 2;
+                i++;
+            } else if (!Character.isSurrogate(c)) bytes += 2;
+        }
+        return bytes;
+    }
+}
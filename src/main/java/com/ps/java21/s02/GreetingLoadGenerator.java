@@ -0,0 +1,178 @@
+package com.ps.java21.s02;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Générateur de charge local: N connexions HTTP/1.1 keep-alive, chacune portée par un thread
+ * virtuel qui enchaîne les requêtes jusqu'à l'échéance. Rapporte requêtes/s et latences p50/p99
+ * des seules réponses 200; les autres réponses, les connexions perdues et les réponses encore
+ * attendues à l'échéance (délais de connexion et de lecture bornés par celle-ci) sont des erreurs.
+ * main() compare le pool de threads plateforme et les threads virtuels de GreetingServer.
+ * 10 000 connexions côté client et serveur dans le même processus: prévoir ulimit -n &gt; 20 000.
+ */
+public final class GreetingLoadGenerator {
+    private GreetingLoadGenerator() {}
+
+    public record Result(long requests, long errors, Duration elapsed, long p50Nanos, long p99Nanos) {
+        public double requestsPerSecond() { return requests / (elapsed.toNanos() / 1e9); }
+
+        @Override
+        public String toString() {
+            return String.format("%,.0f req/s, p50 %.2f ms, p99 %.2f ms, %d erreurs",
+                    requestsPerSecond(), p50Nanos / 1e6, p99Nanos / 1e6, errors);
+        }
+    }
+
+    public static Result run(int port, String path, int connections, Duration duration) throws InterruptedException {
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        var workers = new ArrayList<Future<Connection>>(connections);
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < connections; i++) {
+                var connection = new Connection(port, path + "?name=user-" + i);
+                workers.add(executor.submit(() -> connection.run(deadline)));
+            }
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        long errors = 0;
+        int total = 0;
+        List<Connection> done = new ArrayList<>(connections);
+        for (var f : workers) {
+            Connection c;
+            try {
+                c = f.get();
+            } catch (ExecutionException e) {
+                // Échec inattendu d'une connexion (réponse illisible...): remonté tel quel, pas un compte faux
+                throw new IllegalStateException("load connection failed", e.getCause());
+            }
+            done.add(c);
+            errors += c.errors;
+            total += c.count;
+        }
+        long[] all = new long[total];
+        int at = 0;
+        for (Connection c : done) {
+            System.arraycopy(c.latencies, 0, all, at, c.count);
+            at += c.count;
+        }
+        Arrays.sort(all);
+        return new Result(total, errors, elapsed, percentile(all, 50), percentile(all, 99));
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        int rank = (int) Math.ceil(p / 100.0 * sorted.length);
+        return sorted[Math.max(rank - 1, 0)];
+    }
+
+    // Une connexion keep-alive: requête, lecture des en-têtes, puis du corps (Content-Length)
+    private static final class Connection {
+        private static final long MIN_BACKOFF_NANOS = Duration.ofMillis(1).toNanos();
+        private static final long MAX_BACKOFF_NANOS = Duration.ofMillis(100).toNanos();
+
+        private final int port;
+        private final byte[] request;
+        private long[] latencies = new long[256];
+        private int count;
+        private long errors;
+
+        Connection(int port, String target) {
+            this.port = port;
+            this.request = ("GET " + target + " HTTP/1.1\r\nHost: 127.0.0.1\r\n\r\n").getBytes(StandardCharsets.US_ASCII);
+        }
+
+        Connection run(long deadline) throws InterruptedException {
+            long backoff = MIN_BACKOFF_NANOS;
+            while (System.nanoTime() < deadline) {
+                try (var socket = new Socket()) {
+                    socket.connect(new InetSocketAddress("127.0.0.1", port), millisLeft(deadline));
+                    socket.setTcpNoDelay(true);
+                    backoff = MIN_BACKOFF_NANOS;
+                    OutputStream out = socket.getOutputStream();
+                    InputStream in = new BufferedInputStream(socket.getInputStream());
+                    while (System.nanoTime() < deadline) {
+                        long t0 = System.nanoTime();
+                        // Serveur bloqué: la lecture rend la main à l'échéance (SocketTimeoutException)
+                        socket.setSoTimeout(millisLeft(deadline));
+                        out.write(request);
+                        if (readResponse(in) == 200) record(System.nanoTime() - t0);
+                        else errors++;
+                    }
+                } catch (IOException e) {
+                    // Connexion refusée, coupée ou sans réponse avant l'échéance: comptée, puis reconnexion après une attente croissante
+                    // (1 à 100 ms) pour ne pas boucler sur un serveur saturé ou arrêté
+                    errors++;
+                    Thread.sleep(Duration.ofNanos(Math.min(backoff, Math.max(deadline - System.nanoTime(), 0))));
+                    backoff = Math.min(backoff * 2, MAX_BACKOFF_NANOS);
+                }
+            }
+            return this;
+        }
+
+        // Au moins 1 ms: un délai de 0 voudrait dire « sans limite »
+        private static int millisLeft(long deadline) {
+            return (int) Math.max(1, Math.min(Integer.MAX_VALUE, (deadline - System.nanoTime()) / 1_000_000));
+        }
+
+        private void record(long nanos) {
+            if (count == latencies.length) latencies = Arrays.copyOf(latencies, count * 2);
+            latencies[count++] = nanos;
+        }
+
+        private static int readResponse(InputStream in) throws IOException {
+            String status = readLine(in);
+            int code = Integer.parseInt(status.substring(9, 12));
+            int contentLength = 0;
+            for (String line; !(line = readLine(in)).isEmpty(); ) {
+                if (line.regionMatches(true, 0, "Content-Length:", 0, 15)) {
+                    contentLength = Integer.parseInt(line.substring(15).trim());
+                }
+            }
+            in.skipNBytes(contentLength);
+            return code;
+        }
+
+        private static String readLine(InputStream in) throws IOException {
+            var sb = new StringBuilder(64);
+            for (int b; (b = in.read()) != '\n'; ) {
+                if (b < 0) throw new IOException("connection closed");
+                if (b != '\r') sb.append((char) b);
+            }
+            return sb.toString();
+        }
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int connections = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        Duration duration = Duration.ofSeconds(args.length > 1 ? Long.parseLong(args[1]) : 10);
+        Duration backendLatency = Duration.ofMillis(args.length > 2 ? Long.parseLong(args[2]) : 10);
+        GreetingServer.tuneJdkServer();
+
+        for (var threads : GreetingServer.Threads.values()) {
+            try (var server = GreetingServer.start(new ConsoleGreeter(), 0, threads, backendLatency)) {
+                run(server.port(), "/greet", Math.min(connections, 100), Duration.ofSeconds(2));  // chauffe
+                var result = run(server.port(), "/greet", connections, duration);
+                System.out.println(threads + " (" + connections + " connexions): " + result);
+            }
+        }
+        // Pool plateforme: au plus 200 threads / 10 ms = 20 000 req/s, les autres connexions attendent.
+        // Threads virtuels: borné par le CPU et le thread d'acceptation du serveur JDK.
+        // Exemple sur 1 CPU, 5 000 connexions:
+        // PLATFORM_POOL (5000 connexions): 1 827 req/s, p50 1125,70 ms, p99 2730,80 ms, 0 erreurs
+        // VIRTUAL (5000 connexions): 4 012 req/s, p50 897,71 ms, p99 1548,31 ms, 0 erreurs
+    }
+}
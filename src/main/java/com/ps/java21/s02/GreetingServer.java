@@ -0,0 +1,123 @@
+package com.ps.java21.s02;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Service HTTP minimal sur com.sun.net.httpserver: GET /greet?name=… et /greetCasual?name=….
+ * Les requêtes sont traitées soit par un pool fixe de threads plateforme (modèle « un thread par
+ * requête » borné, comme un conteneur de servlets), soit par un thread virtuel par requête.
+ * backendLatency simule un appel bloquant en aval (base, autre service): c'est là que le nombre
+ * de threads disponibles limite le débit.
+ * start() ne touche pas aux propriétés système: pour une mesure, passer
+ * -Dsun.net.httpserver.nodelay=true -Dsun.net.httpserver.maxIdleConnections=2147483647
+ * ou appeler tuneJdkServer() avant le premier démarrage, comme le font les main().
+ */
+public final class GreetingServer implements AutoCloseable {
+
+    public enum Threads { PLATFORM_POOL, VIRTUAL }
+
+    public static final int PLATFORM_POOL_SIZE = 200;
+    private static final int BACKLOG = 16_384;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    private GreetingServer(HttpServer server, ExecutorService executor) {
+        this.server = server;
+        this.executor = executor;
+    }
+
+    public static GreetingServer start(Greeter greeter, int port, Threads threads, Duration backendLatency) throws IOException {
+        var server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), BACKLOG);
+        var executor = switch (threads) {
+            case PLATFORM_POOL -> Executors.newFixedThreadPool(PLATFORM_POOL_SIZE);
+            case VIRTUAL -> Executors.newVirtualThreadPerTaskExecutor();
+        };
+        server.createContext("/greet", exchange -> handle(exchange, greeter, false, backendLatency));
+        server.createContext("/greetCasual", exchange -> handle(exchange, greeter, true, backendLatency));
+        server.setExecutor(executor);
+        server.start();
+        return new GreetingServer(server, executor);
+    }
+
+    public int port() { return server.getAddress().getPort(); }
+
+    /**
+     * Réglages du serveur JDK pour les mains de mesure, à appeler avant le premier HttpServer.create
+     * (lus une seule fois, au chargement de sa configuration); une valeur passée en -D est gardée.
+     * Sans TCP_NODELAY, en-têtes et corps partent en deux segments et Nagle + ACK retardé ajoutent
+     * ~40 ms; au-delà de 200 connexions keep-alive inactives, le serveur ferme les suivantes.
+     */
+    static void tuneJdkServer() {
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+        if (System.getProperty("sun.net.httpserver.maxIdleConnections") == null) {
+            System.setProperty("sun.net.httpserver.maxIdleConnections", String.valueOf(Integer.MAX_VALUE));
+        }
+    }
+
+    private static void handle(HttpExchange exchange, Greeter greeter, boolean casual, Duration backendLatency) throws IOException {
+        try (exchange) {
+            String name = queryParameter(exchange.getRequestURI().getRawQuery(), "name");
+            if (name == null) {
+                exchange.sendResponseHeaders(400, -1);
+                return;
+            }
+            if (!backendLatency.isZero()) {
+                try {
+                    Thread.sleep(backendLatency);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    exchange.sendResponseHeaders(503, -1);
+                    return;
+                }
+            }
+            // Rendu UTF-8 direct (greetTo), sans String intermédiaire
+            var body = ByteBuffer.allocate(16 + 3 * name.length());
+            if (casual) greeter.greetCasualTo(body, name);
+            else greeter.greetTo(body, name);
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.position());
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body.array(), 0, body.position());
+            }
+        }
+    }
+
+    static String queryParameter(String rawQuery, String key) {
+        if (rawQuery == null) return null;
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq == key.length() && pair.startsWith(key)) {
+                return URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.close();
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8080;
+        tuneJdkServer();
+        var server = start(new ConsoleGreeter(), port, Threads.VIRTUAL, Duration.ZERO);
+        System.out.println("http://127.0.0.1:" + server.port() + "/greet?name=Alice");
+        // curl 'http://127.0.0.1:8080/greet?name=Alice'  ->  Hello Alice
+    }
+}
@@ -0,0 +1,158 @@
+package com.ps.java21.s02;
+
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.Flushable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Salutations en masse vers un canal (fichier, stdout, pipe): chaque salutation est rendue via
+ * greetTo dans un StringBuilder réutilisé, encodée en UTF-8 dans un grand buffer direct, et le
+ * buffer part en un seul write() quand il est plein. Pas de PrintStream synchronisé, pas de flush par ligne.
+ * Non thread-safe: un sink par thread écrivain.
+ */
+public final class GreetingSink implements Flushable, AutoCloseable {
+
+    public enum FlushPolicy {
+        /** Écrit seulement quand le buffer est plein, sur flush() et à la fermeture: débit maximal. */
+        WHEN_FULL,
+        /** Écrit après chaque salutation, comme println avec autoflush: pour un terminal interactif. */
+        EVERY_LINE
+    }
+
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 20;
+
+    private final WritableByteChannel out;
+    private final boolean closeChannel;
+    private final Greeter greeter;
+    private final FlushPolicy policy;
+    private final ByteBuffer buffer;
+    private final StringBuilder line = new StringBuilder(64);
+    private long bytesWritten;
+
+    public GreetingSink(WritableByteChannel out, Greeter greeter) {
+        this(out, greeter, DEFAULT_BUFFER_SIZE, FlushPolicy.WHEN_FULL, true);
+    }
+
+    public GreetingSink(WritableByteChannel out, Greeter greeter, int bufferSize, FlushPolicy policy) {
+        this(out, greeter, bufferSize, policy, true);
+    }
+
+    private GreetingSink(WritableByteChannel out, Greeter greeter, int bufferSize, FlushPolicy policy, boolean closeChannel) {
+        if (bufferSize < 16) throw new IllegalArgumentException("bufferSize must be >= 16");
+        this.out = out;
+        this.greeter = greeter;
+        this.policy = policy;
+        this.closeChannel = closeChannel;
+        this.buffer = ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    /** Sortie standard; close() vide le buffer mais laisse stdout ouvert. */
+    public static GreetingSink toStdout(Greeter greeter, FlushPolicy policy) {
+        FileChannel stdout = new FileOutputStream(FileDescriptor.out).getChannel();
+        return new GreetingSink(stdout, greeter, DEFAULT_BUFFER_SIZE, policy, false);
+    }
+
+    public static GreetingSink toFile(Path file, Greeter greeter) throws IOException {
+        return new GreetingSink(FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING), greeter);
+    }
+
+    public void greet(CharSequence name) throws IOException {
+        line.setLength(0);
+        emit(greeter.greetTo(line, name));
+    }
+
+    public void greetCasual(CharSequence name) throws IOException {
+        line.setLength(0);
+        emit(greeter.greetCasualTo(line, name));
+    }
+
+    public void greetAll(List<? extends CharSequence> names) throws IOException {
+        for (int i = 0; i < names.size(); i++) greet(names.get(i));
+    }
+
+    /** Octets effectivement passés au canal (hors contenu encore en buffer). */
+    public long bytesWritten() { return bytesWritten; }
+
+    private void emit(StringBuilder text) throws IOException {
+        text.append('\n');
+        // Au plus 3 octets UTF-8 par char
+        if (buffer.remaining() < text.length() * 3) {
+            drain();
+            if (buffer.remaining() < text.length() * 3) {
+                encodeOversized(text);
+                return;
+            }
+        }
+        encode(text, 0, text.length());
+        if (policy == FlushPolicy.EVERY_LINE) drain();
+    }
+
+    // Ligne plus grande que le buffer: découpée en morceaux (sans couper une paire de substitution)
+    private void encodeOversized(StringBuilder text) throws IOException {
+        int chunk = buffer.capacity() / 3 - 1;
+        for (int from = 0; from < text.length(); ) {
+            int to = Math.min(from + chunk, text.length());
+            if (to < text.length() && Character.isHighSurrogate(text.charAt(to - 1))) to--;
+            encode(text, from, to);
+            drain();
+            from = to;
+        }
+    }
+
+    private void encode(CharSequence s, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                buffer.put((byte) c);
+            } else if (c < 0x800) {
+                buffer.put((byte) (0xC0 | (c >> 6)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < to && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, s.charAt(++i));
+                buffer.put((byte) (0xF0 | (cp >> 18)));
+                buffer.put((byte) (0x80 | ((cp >> 12) & 0x3F)));
+                buffer.put((byte) (0x80 | ((cp >> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (cp & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                buffer.put((byte) '?');
+            } else {
+                buffer.put((byte) (0xE0 | (c >> 12)));
+                buffer.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) bytesWritten += out.write(buffer);
+        buffer.clear();
+    }
+
+    @Override
+    public void flush() throws IOException { drain(); }
+
+    @Override
+    public void close() throws IOException {
+        drain();
+        if (closeChannel) out.close();
+    }
+
+    public static void main(String[] args) throws IOException {
+        try (var sink = GreetingSink.toStdout(new ConsoleGreeter(), FlushPolicy.WHEN_FULL)) {
+            sink.greetAll(List.of("Alice", "Bob"));
+            sink.greetCasual("Chloé");
+        }
+        // Hello Alice
+        // Hello Bob
+        // Hi Chloé
+    }
+}
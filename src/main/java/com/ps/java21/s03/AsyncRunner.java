@@ -0,0 +1,196 @@
+package com.ps.java21.s03;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * withValue pour des blocs bloquants (I/O): chaque bloc tourne sur son propre thread virtuel.
+ * Contrairement à CompletableFuture.supplyAsync, cancel(true) interrompt réellement le bloc.
+ * withValuesAsync lance un bloc par valeur, au plus maxConcurrency à la fois (sémaphore),
+ * rend les résultats dans l'ordre des valeurs. Au premier échec, il ne lance plus rien, interrompt
+ * les blocs encore en cours et n'échoue qu'une fois tous sortis: aucun ne survit au résultat.
+ * cancel(true), lui, termine le future tout de suite (contrat de CompletableFuture): les blocs sont
+ * interrompus, mais un bloc qui ignore l'interruption continue après l'annulation.
+ */
+public final class AsyncRunner {
+    private AsyncRunner() {}
+
+    public static final int DEFAULT_MAX_CONCURRENCY = 1_000;
+
+    public static <T, R> CompletableFuture<R> withValueAsync(T value, Function<? super T, ? extends R> block) {
+        var future = new Interruptible<R>();
+        future.start(() -> {
+            try {
+                future.complete(block.apply(value));
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    /** Comme withValueAsync, sous une limite partagée entre appels (connexions, quota...). */
+    public static <T, R> CompletableFuture<R> withValueAsync(T value, Function<? super T, ? extends R> block, Semaphore permits) {
+        var future = new Interruptible<R>();
+        future.start(() -> {
+            try {
+                // Attente dans le thread virtuel, pas dans l'appelant
+                permits.acquire();
+                try {
+                    future.complete(block.apply(value));
+                } finally {
+                    permits.release();
+                }
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    public static <T, R> CompletableFuture<List<R>> withValuesAsync(Collection<? extends T> values, Function<? super T, ? extends R> block) {
+        return withValuesAsync(values, block, DEFAULT_MAX_CONCURRENCY);
+    }
+
+    public static <T, R> CompletableFuture<List<R>> withValuesAsync(Collection<? extends T> values,
+                                                                    Function<? super T, ? extends R> block,
+                                                                    int maxConcurrency) {
+        if (maxConcurrency < 1) throw new IllegalArgumentException("maxConcurrency must be >= 1");
+        var fanOut = new FanOut<T, R>(new ArrayList<>(values), block, maxConcurrency);
+        if (fanOut.items.isEmpty()) fanOut.result.complete(List.of());
+        else fanOut.result.start(fanOut::launch);
+        return fanOut.result;
+    }
+
+    /**
+     * Future dont cancel(true) interrompt aussi le thread porteur et, pour un fan-out, tous les blocs.
+     * Les étapes dérivées (thenApply...) sont des CompletableFuture ordinaires.
+     */
+    private static class Interruptible<R> extends CompletableFuture<R> {
+        private volatile Thread thread;
+
+        void start(Runnable task) {
+            thread = Thread.ofVirtual().unstarted(task);
+            thread.start();
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            if (cancelled) interruptAll();
+            return cancelled;
+        }
+
+        void interruptAll() {
+            Thread t = thread;
+            if (t != null) t.interrupt();
+        }
+    }
+
+    private static final class FanOut<T, R> {
+        final List<? extends T> items;
+        final Function<? super T, ? extends R> block;
+        final Semaphore permits;
+        final Object[] results;
+        // Lanceur + blocs lancés pas encore sortis; le dernier à sortir termine le résultat
+        final AtomicInteger active = new AtomicInteger(1);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final Set<Thread> running = ConcurrentHashMap.newKeySet();
+        final Interruptible<List<R>> result = new Interruptible<>() {
+            @Override
+            void interruptAll() {
+                super.interruptAll();
+                running.forEach(Thread::interrupt);
+            }
+        };
+
+        FanOut(List<? extends T> items, Function<? super T, ? extends R> block, int maxConcurrency) {
+            this.items = items;
+            this.block = block;
+            this.permits = new Semaphore(maxConcurrency);
+            this.results = new Object[items.size()];
+        }
+
+        boolean stopped() { return failure.get() != null || result.isDone(); }
+
+        // Thread lanceur (virtuel): un permis par bloc, rendu par le bloc à la fin
+        void launch() {
+            try {
+                for (int i = 0; i < items.size() && !stopped(); i++) {
+                    permits.acquire();
+                    int index = i;
+                    Thread worker = Thread.ofVirtual().unstarted(() -> run(index));
+                    active.incrementAndGet();
+                    running.add(worker);
+                    worker.start();
+                    // Échec ou annulation survenu entre-temps: interruptAll a pu manquer ce bloc
+                    if (stopped()) worker.interrupt();
+                }
+            } catch (InterruptedException e) {
+                // Échec ou annulation pendant l'attente d'un permis: plus rien à lancer
+            } finally {
+                exit();
+            }
+        }
+
+        private void run(int index) {
+            try {
+                if (!stopped()) results[index] = block.apply(items.get(index));
+            } catch (Throwable e) {
+                if (failure.compareAndSet(null, e)) result.interruptAll();
+            } finally {
+                running.remove(Thread.currentThread());
+                permits.release();
+                exit();
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void exit() {
+            if (active.decrementAndGet() != 0) return;
+            // Tous sortis: les écritures de results et de failure précèdent le dernier decrementAndGet.
+            // Après cancel(), ces complete sont sans effet
+            Throwable e = failure.get();
+            if (e != null) result.completeExceptionally(e);
+            else result.complete(Collections.unmodifiableList((List<R>) Arrays.asList(results)));
+        }
+    }
+
+    public static void main(String[] args) {
+        // Bloc « I/O »: 100 ms chacun, 10 000 valeurs, au plus 1 000 à la fois -> ~1 s
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) ids.add(i);
+        long start = System.nanoTime();
+        List<String> names = withValuesAsync(ids, id -> {
+            sleep(100);
+            return "user-" + id;
+        }).join();
+        System.out.printf("%d résultats en %d ms, premier %s%n", names.size(), (System.nanoTime() - start) / 1_000_000, names.getFirst());
+
+        var slow = withValueAsync(42, v -> {
+            sleep(60_000);
+            return "val=" + v;
+        });
+        slow.cancel(true);                       // interrompt le sleep
+        System.out.println(slow.isCancelled());  // true
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted", e);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.ps.java21.s03;
+
+import java.lang.constant.ConstantDescs;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.function.Function;
+
+/**
+ * Gabarit des fonctions fusionnées de Pipeline: jamais instancié tel quel. Son bytecode est
+ * redéfini en classe cachée, une par pipeline, avec la chaîne d'étapes en « class data ».
+ * BODY est alors un static final propre à chaque classe: une constante pour le JIT, qui inline
+ * toute la chaîne dans apply au lieu de passer par un site d'appel partagé.
+ */
+final class FusedFunction implements Function<Object, Object> {
+
+    private static final MethodHandle BODY;
+
+    static {
+        try {
+            // null pour le gabarit lui-même, la chaîne (Object)Object dans chaque classe cachée
+            BODY = MethodHandles.classData(MethodHandles.lookup(), ConstantDescs.DEFAULT_NAME, MethodHandle.class);
+        } catch (IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    @Override
+    public Object apply(Object value) {
+        try {
+            return (Object) BODY.invokeExact(value);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            // Les étapes sont des Function: rien d'autre ne peut sortir
+            throw new UndeclaredThrowableException(t);
+        }
+    }
+}
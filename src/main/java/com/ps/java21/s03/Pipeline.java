@@ -0,0 +1,111 @@
+package com.ps.java21.s03;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Chaîne d'étapes withValue (5 à 10 transformations par enregistrement), exécutable de trois façons:
+ * apply() les enchaîne une à une via Runner.withValue; composed() les compose par Function.andThen;
+ * fuse() les assemble en une seule chaîne de MethodHandle, logée dans une classe cachée qui lui est
+ * propre, de sorte que le JIT voie un corps unique et monomorphe, étapes inlinées.
+ * Immuable: then() renvoie un nouveau pipeline.
+ */
+public final class Pipeline<T, R> {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodHandle APPLY;
+
+    static {
+        try {
+            APPLY = LOOKUP.findVirtual(Function.class, "apply", MethodType.methodType(Object.class, Object.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final List<Function<Object, Object>> steps;
+
+    private Pipeline(List<Function<Object, Object>> steps) {
+        this.steps = steps;
+    }
+
+    public static <T> Pipeline<T, T> start() {
+        return new Pipeline<>(List.of());
+    }
+
+    @SuppressWarnings("unchecked")
+    public <V> Pipeline<T, V> then(Function<? super R, ? extends V> step) {
+        Objects.requireNonNull(step, "step");
+        var copy = new ArrayList<>(steps);
+        copy.add((Function<Object, Object>) step);
+        return new Pipeline<>(List.copyOf(copy));
+    }
+
+    public int size() { return steps.size(); }
+
+    /** Étape par étape, chacune via Runner.withValue: un appel d'interface par étape. */
+    @SuppressWarnings("unchecked")
+    public R apply(T value) {
+        Object v = value;
+        for (var step : steps) v = Runner.withValue(v, step);
+        return (R) v;
+    }
+
+    /** f1.andThen(f2)...: la lambda d'andThen est partagée par toutes les chaînes du programme. */
+    @SuppressWarnings("unchecked")
+    public Function<T, R> composed() {
+        Function<Object, Object> f = Function.identity();
+        for (var step : steps) f = f.andThen(step);
+        return (Function<T, R>) f;
+    }
+
+    /**
+     * Fonction fusionnée: une classe cachée par appel (quelques dizaines de µs), à construire une
+     * fois et à réutiliser. La classe est déchargeable dès que la fonction n'est plus référencée.
+     */
+    @SuppressWarnings("unchecked")
+    public Function<T, R> fuse() {
+        MethodHandle body = MethodHandles.identity(Object.class);
+        for (var step : steps) body = MethodHandles.filterReturnValue(body, APPLY.bindTo(step));
+        try {
+            var hidden = LOOKUP.defineHiddenClassWithClassData(Template.BYTES, body, true);
+            return (Function<T, R>) hidden.findConstructor(hidden.lookupClass(), MethodType.methodType(void.class)).invoke();
+        } catch (Throwable e) {
+            throw new IllegalStateException("cannot fuse pipeline", e);
+        }
+    }
+
+    // Bytecode de FusedFunction, lu une fois au premier fuse()
+    private static final class Template {
+        static final byte[] BYTES = read();
+
+        private static byte[] read() {
+            try (InputStream in = FusedFunction.class.getResourceAsStream("FusedFunction.class")) {
+                if (in == null) throw new IllegalStateException("FusedFunction.class not found");
+                return in.readAllBytes();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        Pipeline<String, String> pipeline = Pipeline.<String>start()
+                .then(String::trim)
+                .then(String::toLowerCase)
+                .then(s -> s.replace(' ', '-'))
+                .then(s -> "val=" + s);
+
+        Function<String, String> fused = pipeline.fuse();
+        System.out.println(pipeline.apply("  Hello World "));           // val=hello-world
+        System.out.println(Runner.withValue("  Hello World ", fused));  // val=hello-world
+    }
+}
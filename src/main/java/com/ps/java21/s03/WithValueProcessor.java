@@ -0,0 +1,280 @@
+package com.ps.java21.s03;
+
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Flow.Processor qui applique un bloc withValue à chaque élément d'un flux non borné.
+ * Mémoire bornée: au plus prefetch éléments demandés en amont et pas encore émis en aval.
+ * La demande amont est renouvelée par lots (aux trois quarts du prefetch), pas élément par élément.
+ * Séquentiel (parallelism = 1): le bloc tourne dans le thread qui draine, seulement s'il y a de la
+ * demande en aval. Parallèle: des lots d'au plus batchSize éléments consécutifs partent sur
+ * l'executor (au plus parallelism lots à la fois), l'émission reste dans l'ordre d'arrivée.
+ * Un seul abonné. Une exception du bloc (ou un résultat null) annule l'amont et passe en onError
+ * à son tour dans l'ordre; une erreur amont est transmise tout de suite, sans vider le tampon.
+ */
+public final class WithValueProcessor<T, R> implements Flow.Processor<T, R> {
+
+    public static final int DEFAULT_PREFETCH = 256;
+
+    private final Function<? super T, ? extends R> block;
+    private final int prefetch;
+    private final int limit;
+    private final int parallelism;
+    private final int batchSize;
+    private final Executor executor;
+
+    private final ConcurrentLinkedQueue<T> inbox = new ConcurrentLinkedQueue<>();
+    private final AtomicLong requested = new AtomicLong();
+    private final AtomicInteger wip = new AtomicInteger();
+    private final AtomicInteger finishedBatches = new AtomicInteger();
+    private volatile Flow.Subscription upstream;
+    private volatile Flow.Subscriber<? super R> downstream;
+    private volatile boolean upstreamDone;
+    private volatile Throwable upstreamError;
+    private volatile boolean cancelled;
+
+    // Réservés au thread qui draine (wip)
+    private final ArrayDeque<Slot<T, R>> window = new ArrayDeque<>();
+    private final ArrayDeque<Slot<T, R>> pending = new ArrayDeque<>();
+    private int computing;
+    private int consumed;
+    private boolean terminated;
+
+    public WithValueProcessor(Function<? super T, ? extends R> block) {
+        this(block, DEFAULT_PREFETCH);
+    }
+
+    public WithValueProcessor(Function<? super T, ? extends R> block, int prefetch) {
+        this(block, prefetch, 1, 1, null);
+    }
+
+    /** parallelism &gt; 1: lots de batchSize éléments sur executor (threads virtuels si null). */
+    public WithValueProcessor(Function<? super T, ? extends R> block, int prefetch, int parallelism, int batchSize, Executor executor) {
+        if (prefetch < 1) throw new IllegalArgumentException("prefetch must be >= 1");
+        if (parallelism < 1) throw new IllegalArgumentException("parallelism must be >= 1");
+        if (batchSize < 1) throw new IllegalArgumentException("batchSize must be >= 1");
+        this.block = Objects.requireNonNull(block, "block");
+        this.prefetch = prefetch;
+        this.limit = prefetch - (prefetch >> 2);
+        this.parallelism = parallelism;
+        this.batchSize = batchSize;
+        this.executor = executor != null ? executor : task -> Thread.ofVirtual().start(task);
+    }
+
+    // --- côté amont ---
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        if (upstream != null || cancelled) {
+            subscription.cancel();
+            return;
+        }
+        upstream = subscription;
+        subscription.request(prefetch);
+    }
+
+    @Override
+    public void onNext(T item) {
+        inbox.offer(Objects.requireNonNull(item, "item"));
+        drain();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        upstreamError = Objects.requireNonNull(throwable, "throwable");
+        upstreamDone = true;
+        drain();
+    }
+
+    @Override
+    public void onComplete() {
+        upstreamDone = true;
+        drain();
+    }
+
+    // --- côté aval ---
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super R> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber");
+        synchronized (this) {
+            if (downstream != null) {
+                subscriber.onSubscribe(new Flow.Subscription() {
+                    @Override public void request(long n) { }
+                    @Override public void cancel() { }
+                });
+                subscriber.onError(new IllegalStateException("WithValueProcessor allows only one subscriber"));
+                return;
+            }
+            downstream = subscriber;
+        }
+        subscriber.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(long n) {
+                if (n <= 0) {
+                    upstreamError = new IllegalArgumentException("request must be > 0 (§3.9), got " + n);
+                    cancelUpstream();
+                } else {
+                    requested.getAndAccumulate(n, (r, add) -> r + add < 0 ? Long.MAX_VALUE : r + add);
+                }
+                drain();
+            }
+
+            @Override
+            public void cancel() {
+                cancelled = true;
+                cancelUpstream();
+                drain();
+            }
+        });
+        drain();
+    }
+
+    private void cancelUpstream() {
+        Flow.Subscription s = upstream;
+        if (s != null) s.cancel();
+    }
+
+    // --- boucle de drainage: un seul thread à la fois, les autres laissent un « missed » ---
+
+    private void drain() {
+        if (wip.getAndIncrement() != 0) return;
+        int missed = 1;
+        do {
+            drainLoop();
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void drainLoop() {
+        if (terminated) return;
+        if (cancelled) {
+            terminate();
+            return;
+        }
+        Flow.Subscriber<? super R> out = downstream;
+        for (T item; (item = inbox.poll()) != null; ) {
+            var slot = new Slot<T, R>(item);
+            window.add(slot);
+            if (parallelism > 1) pending.add(slot);
+        }
+        computing -= finishedBatches.getAndSet(0);
+        if (out == null) return;
+        Throwable error = upstreamError;
+        if (error != null) {
+            terminate();
+            out.onError(error);
+            return;
+        }
+        if (parallelism > 1) startBatches();
+
+        long demand = requested.get();
+        long emitted = 0;
+        while (emitted < demand && !window.isEmpty() && !cancelled) {
+            Slot<T, R> head = window.peek();
+            if (parallelism == 1) {
+                compute(head);
+            } else if (!head.done) {
+                break;
+            }
+            if (head.error != null) {
+                cancelUpstream();
+                terminate();
+                out.onError(head.error);
+                return;
+            }
+            window.poll();
+            out.onNext(head.result);
+            emitted++;
+            if (++consumed == limit) {
+                consumed = 0;
+                upstream.request(limit);
+            }
+        }
+        if (emitted != 0 && demand != Long.MAX_VALUE) requested.addAndGet(-emitted);
+        if (parallelism > 1) startBatches();
+
+        if (upstreamDone && window.isEmpty() && inbox.isEmpty() && upstreamError == null && !cancelled) {
+            terminate();
+            out.onComplete();
+        }
+    }
+
+    // Lots d'éléments consécutifs pas encore lancés, tant qu'il reste des lots libres
+    private void startBatches() {
+        while (computing < parallelism && !pending.isEmpty()) {
+            // Le lot est chaîné par next: le thread de calcul ne touche pas aux files
+            Slot<T, R> first = pending.poll();
+            Slot<T, R> last = first;
+            int size = 1;
+            while (size < batchSize && !pending.isEmpty()) {
+                last.next = pending.poll();
+                last = last.next;
+                size++;
+            }
+            computing++;
+            int count = size;
+            executor.execute(() -> {
+                Slot<T, R> slot = first;
+                for (int i = 0; i < count; i++, slot = slot.next) {
+                    compute(slot);
+                    slot.done = true;
+                }
+                finishedBatches.incrementAndGet();
+                drain();
+            });
+        }
+    }
+
+    private void compute(Slot<T, R> slot) {
+        try {
+            slot.result = Objects.requireNonNull(Runner.withValue(slot.item, block), "block returned null");
+        } catch (Throwable e) {
+            slot.error = e;
+        }
+    }
+
+    private void terminate() {
+        terminated = true;
+        window.clear();
+        pending.clear();
+        inbox.clear();
+    }
+
+    private static final class Slot<T, R> {
+        final T item;
+        R result;
+        Throwable error;
+        Slot<T, R> next;
+        // Écrit en dernier par le thread de calcul: publie result et error
+        volatile boolean done;
+
+        Slot(T item) { this.item = item; }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        var done = new java.util.concurrent.CountDownLatch(1);
+        try (var source = new SubmissionPublisher<Integer>()) {
+            var processor = new WithValueProcessor<Integer, String>(v -> "val=" + v);
+            source.subscribe(processor);
+            processor.subscribe(new Flow.Subscriber<>() {
+                private Flow.Subscription subscription;
+
+                @Override public void onSubscribe(Flow.Subscription s) { subscription = s; s.request(1); }
+                @Override public void onNext(String item) { System.out.println(item); subscription.request(1); }
+                @Override public void onError(Throwable t) { t.printStackTrace(); done.countDown(); }
+                @Override public void onComplete() { done.countDown(); }
+            });
+            for (int i = 0; i < 3; i++) source.submit(i);
+        }
+        done.await();  // val=0, val=1, val=2
+    }
+}
@@ -0,0 +1,215 @@
+package com.ps.java21.s04;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compteurs persistants, projetés en mémoire: ils survivent à un crash du processus (les pages
+ * restent dans le cache du noyau; force() pour survivre aussi à une coupure) et un autre
+ * processus peut les lire en direct (CounterFileTail), sans verrou.
+ * <pre>
+ * en-tête (64 o) = magic "CNT1" (int) | version (int) | nombre de slots (int) | taille de slot (int)
+ * slot    (64 o) = valeur (long) | longueur du nom (int, 0 = libre) | nom UTF-8 (52 o max)
+ * </pre>
+ * Little-endian, un slot par ligne de cache. Les mises à jour passent par un VarHandle sur le
+ * buffer projeté (getAndAdd atomique, lectures volatiles). Le nom d'un slot est publié par
+ * setRelease de sa longueur, après ses octets, et l'en-tête par setRelease du magic: tant qu'il
+ * vaut 0, le fichier est en cours de création (CounterFileTail attend). Un seul processus écrivain
+ * à la fois: l'allocation des slots n'est pas protégée entre processus.
+ */
+public final class CounterFile implements AutoCloseable {
+
+    static final int MAGIC = 0x434E5431; // "CNT1"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 64;
+    static final int SLOT_SIZE = 64;
+    static final int NAME_LENGTH_OFFSET = 8;
+    static final int NAME_OFFSET = 12;
+    static final int MAX_NAME_BYTES = SLOT_SIZE - NAME_OFFSET;
+
+    static final VarHandle LONG = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    static final VarHandle INT = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int slots;
+    private final Map<String, MappedCounter> counters = new LinkedHashMap<>();
+
+    private CounterFile(FileChannel channel, MappedByteBuffer buffer, int slots) {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.slots = slots;
+    }
+
+    /** Ouvre (ou crée avec slots emplacements) un fichier de compteurs; les valeurs existantes sont conservées. */
+    public static CounterFile open(Path file, int slots) throws IOException {
+        if (slots < 1) throw new IllegalArgumentException("slots must be >= 1");
+        var channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            int existingSlots = checkHeader(channel, file);
+            boolean existing = existingSlots > 0;
+            if (existing) {
+                slots = existingSlots;
+            } else if (channel.size() > 0) {
+                // Création interrompue avant la publication du magic: on ne repart de zéro que si le
+                // fichier en a exactement la forme, jamais sur un fichier étranger qui commence par des 0
+                if (!isAbandonedCreation(channel)) throw new IOException("not a counter file: " + file);
+                channel.truncate(0);
+            }
+            if (!existing) writeHeaderFields(channel, slots);
+            var buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize(slots));
+            var counterFile = new CounterFile(channel, buffer, slots);
+            if (existing) counterFile.loadSlots();
+            else counterFile.publishHeader();
+            return counterFile;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Nombre de slots lu dans l'en-tête, après vérification (utilisé aussi par le lecteur), ou 0 si
+     * l'en-tête n'est pas encore publié: fichier vide, ou magic encore à 0 pendant la création.
+     */
+    static int checkHeader(FileChannel channel, Path file) throws IOException {
+        long size = channel.size();
+        if (size == 0) return 0;
+        if (size < HEADER_SIZE) throw new IOException("not a counter file: " + file);
+        var header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        // Acquire: le magic vu, les autres champs (écrits avant lui) le sont aussi
+        int magic = (int) INT.getAcquire(header, 0);
+        if (magic == 0) return 0;
+        if (magic != MAGIC) throw new IOException("not a counter file: " + file);
+        if (header.getInt(4) != VERSION) throw new IOException("unsupported counter file version " + header.getInt(4) + ": " + file);
+        if (header.getInt(12) != SLOT_SIZE) throw new IOException("unexpected slot size " + header.getInt(12) + ": " + file);
+        int slots = header.getInt(8);
+        if (slots <= 0) throw new IOException("invalid slot count " + slots + ": " + file);
+        if (size != fileSize(slots)) {
+            throw new IOException("counter file size " + size + " does not match its header (" + slots + " slots): " + file);
+        }
+        return slots;
+    }
+
+    // Magic à 0, taille conforme au nombre de slots de l'en-tête et rien d'écrit après l'en-tête
+    private static boolean isAbandonedCreation(FileChannel channel) throws IOException {
+        var chunk = ByteBuffer.allocate(64 * 1024).order(ByteOrder.LITTLE_ENDIAN);
+        chunk.limit(HEADER_SIZE);
+        if (channel.read(chunk, 0) < HEADER_SIZE || chunk.getInt(0) != 0) return false;
+        int headerSlots = chunk.getInt(8);
+        if (headerSlots <= 0 || channel.size() != fileSize(headerSlots)) return false;
+        for (long position = HEADER_SIZE; position < channel.size(); ) {
+            chunk.clear();
+            int n = channel.read(chunk, position);
+            if (n < 0) return false;
+            for (int i = 0; i < n; i++) {
+                if (chunk.get(i) != 0) return false;
+            }
+            position += n;
+        }
+        return true;
+    }
+
+    static long fileSize(int slots) { return HEADER_SIZE + (long) slots * SLOT_SIZE; }
+
+    static int slotPosition(int slot) { return HEADER_SIZE + slot * SLOT_SIZE; }
+
+    /** Compteur de ce nom: le slot existant (valeur d'avant le redémarrage) ou le prochain slot libre. */
+    public synchronized MappedCounter counter(String name) {
+        var counter = counters.get(name);
+        if (counter != null) return counter;
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length == 0 || bytes.length > MAX_NAME_BYTES) {
+            throw new IllegalArgumentException("counter name must be 1.." + MAX_NAME_BYTES + " UTF-8 bytes: " + name);
+        }
+        int slot = counters.size();
+        if (slot == slots) throw new IllegalStateException("counter file full: " + slots + " slots");
+        int at = slotPosition(slot);
+        buffer.put(at + NAME_OFFSET, bytes);
+        // Nom complet avant la longueur: un lecteur qui voit la longueur voit le nom
+        INT.setRelease(buffer, at + NAME_LENGTH_OFFSET, bytes.length);
+        counter = new MappedCounter(name, buffer, at);
+        counters.put(name, counter);
+        return counter;
+    }
+
+    /** Compteurs connus, dans l'ordre des slots. */
+    public synchronized Map<String, MappedCounter> counters() { return Collections.unmodifiableMap(new LinkedHashMap<>(counters)); }
+
+    public int slots() { return slots; }
+
+    /** Écrit les pages modifiées sur disque: nécessaire seulement pour survivre à une coupure du système. */
+    public void force() { buffer.force(); }
+
+    /** Le buffer reste projeté jusqu'à sa collecte par le GC: les compteurs déjà obtenus restent lisibles. */
+    @Override
+    public void close() throws IOException {
+        force();
+        channel.close();
+    }
+
+    // Avant la projection qui étend le fichier: une création interrompue ensuite laisse un en-tête
+    // dont le nombre de slots correspond à la taille, que open() sait reconnaître et refaire
+    private static void writeHeaderFields(FileChannel channel, int slots) throws IOException {
+        var header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(4, VERSION).putInt(8, slots).putInt(12, SLOT_SIZE);
+        while (header.hasRemaining()) channel.write(header, header.position());
+    }
+
+    private void publishHeader() {
+        // Magic en dernier: un lecteur ne voit jamais un en-tête à moitié écrit
+        INT.setRelease(buffer, 0, MAGIC);
+    }
+
+    private void loadSlots() throws IOException {
+        for (int slot = 0; slot < slots; slot++) {
+            int at = slotPosition(slot);
+            int length = nameLength(buffer, slot);
+            // Slots alloués dans l'ordre: le premier libre termine la liste
+            if (length == 0) break;
+            String name = new String(readName(buffer, at, length), StandardCharsets.UTF_8);
+            counters.put(name, new MappedCounter(name, buffer, at));
+        }
+    }
+
+    /** Longueur du nom du slot (0 = libre), lue en acquire et vérifiée: jamais lue hors du slot. */
+    static int nameLength(ByteBuffer buffer, int slot) throws IOException {
+        int length = (int) INT.getAcquire(buffer, slotPosition(slot) + NAME_LENGTH_OFFSET);
+        if (length < 0 || length > MAX_NAME_BYTES) {
+            throw new IOException("corrupt counter slot " + slot + ": name length " + length + " outside 0.." + MAX_NAME_BYTES);
+        }
+        return length;
+    }
+
+    static byte[] readName(ByteBuffer buffer, int at, int length) {
+        var bytes = new byte[length];
+        buffer.get(at + NAME_OFFSET, bytes);
+        return bytes;
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        // Lancer en parallèle: java com.ps.java21.s04.CounterFileTail /tmp/jobs.counters
+        try (var file = CounterFile.open(Path.of("/tmp/jobs.counters"), 64)) {
+            MappedCounter processed = file.counter("records.processed");
+            MappedCounter failed = file.counter("records.failed");
+            System.out.println("reprise à " + processed.getValue());  // 0 au premier lancement
+            for (int i = 0; i < 50; i++) {
+                processed.increment();
+                if (i % 10 == 0) failed.increment();
+                Thread.sleep(100);
+            }
+            System.out.println(processed.getValue() + " / " + failed.getValue());
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.ps.java21.s04;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Lecteur d'un CounterFile depuis un autre processus: projection en lecture seule et lectures
+ * volatiles, jamais de verrou, l'écrivain n'est ni ralenti ni prévenu. open() attend que le fichier
+ * existe et que l'écrivain ait publié son en-tête: le lecteur peut démarrer avant ou pendant la création.
+ * java com.ps.java21.s04.CounterFileTail fichier [intervalle en ms, 1000 par défaut]
+ * affiche chaque compteur et son débit depuis le relevé précédent, jusqu'à Ctrl-C.
+ */
+public final class CounterFileTail implements AutoCloseable {
+
+    public static final Duration DEFAULT_OPEN_TIMEOUT = Duration.ofSeconds(5);
+    private static final long RETRY_MILLIS = 10;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int slots;
+    // Noms déjà décodés, par slot: un slot publié ne change plus de nom
+    private final String[] names;
+
+    private CounterFileTail(FileChannel channel, MappedByteBuffer buffer, int slots) {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.slots = slots;
+        this.names = new String[slots];
+    }
+
+    public static CounterFileTail open(Path file) throws IOException, InterruptedException {
+        return open(file, DEFAULT_OPEN_TIMEOUT);
+    }
+
+    /** Réessaie toutes les 10 ms tant que le fichier est absent ou en cours de création, au plus timeout. */
+    public static CounterFileTail open(Path file, Duration timeout) throws IOException, InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        for (;;) {
+            var tail = tryOpen(file);
+            if (tail != null) return tail;
+            if (System.nanoTime() - deadline >= 0) throw new IOException("counter file not ready after " + timeout + ": " + file);
+            Thread.sleep(RETRY_MILLIS);
+        }
+    }
+
+    // null: fichier absent ou en-tête pas encore publié
+    private static CounterFileTail tryOpen(Path file) throws IOException {
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(file, StandardOpenOption.READ);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+        try {
+            int slots = CounterFile.checkHeader(channel, file);
+            if (slots == 0) {
+                channel.close();
+                return null;
+            }
+            var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, CounterFile.fileSize(slots));
+            return new CounterFileTail(channel, buffer, slots);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /** Valeurs courantes, dans l'ordre des slots; les compteurs créés depuis le dernier appel apparaissent. */
+    public Map<String, Long> read() throws IOException {
+        Map<String, Long> values = new LinkedHashMap<>();
+        for (int slot = 0; slot < slots; slot++) {
+            int at = CounterFile.slotPosition(slot);
+            if (names[slot] == null) {
+                int length = CounterFile.nameLength(buffer, slot);
+                if (length == 0) break;
+                names[slot] = new String(CounterFile.readName(buffer, at, length), StandardCharsets.UTF_8);
+            }
+            values.put(names[slot], (long) CounterFile.LONG.getVolatile(buffer, at));
+        }
+        return values;
+    }
+
+    @Override
+    public void close() throws IOException { channel.close(); }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 1) {
+            System.err.println("usage: CounterFileTail <file> [intervalMillis]");
+            System.exit(2);
+        }
+        long interval = args.length > 1 ? Long.parseLong(args[1]) : 1_000;
+        try (var tail = open(Path.of(args[0]))) {
+            Map<String, Long> previous = tail.read();
+            for (;;) {
+                Thread.sleep(interval);
+                Map<String, Long> current = tail.read();
+                current.forEach((name, value) -> {
+                    long delta = value - previous.getOrDefault(name, 0L);
+                    System.out.printf("%-40s %15d %12.1f/s%n", name, value, delta * 1_000.0 / interval);
+                });
+                System.out.println();
+                previous.clear();
+                previous.putAll(current);
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.ps.java21.s04;
+
+import com.ps.java8.s04.ConcurrentCounter;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Un slot de CounterFile: un ConcurrentCounter (getValue/setValue, increment/add) dont les
+ * opérations sont atomiques directement dans la mémoire projetée, donc visibles des autres processus.
+ */
+public final class MappedCounter implements ConcurrentCounter {
+    private final String name;
+    private final ByteBuffer buffer;
+    private final int offset;
+
+    MappedCounter(String name, ByteBuffer buffer, int offset) {
+        this.name = name;
+        this.buffer = buffer;
+        this.offset = offset;
+    }
+
+    public String getName() { return name; }
+
+    @Override public long getValue() { return (long) CounterFile.LONG.getVolatile(buffer, offset); }
+
+    @Override public void setValue(long v) { CounterFile.LONG.setVolatile(buffer, offset, v); }
+
+    @Override public void increment() { CounterFile.LONG.getAndAdd(buffer, offset, 1L); }
+
+    @Override public void add(long delta) { CounterFile.LONG.getAndAdd(buffer, offset, delta); }
+
+    @Override
+    public String toString() { return name + "=" + getValue(); }
+}
@@ -0,0 +1,127 @@
+package com.ps.java8.s01;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Canonicalise les User égaux vers une instance unique, sans les retenir:
+ * les entrées sont faibles et purgées dès que plus personne ne les référence.
+ * Deux User internés sont égaux si et seulement si ils sont identiques (==),
+ * ce que User.equals teste en premier (this == o).
+ */
+public final class UserInterner {
+
+    public static final class Stats {
+        private final long hits;
+        private final long misses;
+        private final int size;
+
+        Stats(long hits, long misses, int size) {
+            this.hits = hits;
+            this.misses = misses;
+            this.size = size;
+        }
+
+        public long getHits() { return hits; }
+        public long getMisses() { return misses; }
+        public int getSize() { return size; }
+
+        public double getHitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+
+        @Override
+        public String toString() {
+            return "Stats(hits=" + hits + ", misses=" + misses + ", size=" + size + ")";
+        }
+    }
+
+    private final ConcurrentHashMap<Object, WeakKey> table = new ConcurrentHashMap<>();
+    private final ReferenceQueue<User> queue = new ReferenceQueue<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public User intern(User user) {
+        expungeStaleEntries();
+        while (true) {
+            WeakKey existing = table.get(new Probe(user));
+            if (existing == null) {
+                WeakKey fresh = new WeakKey(user, queue);
+                existing = table.putIfAbsent(fresh, fresh);
+                if (existing == null) {
+                    misses.increment();
+                    return user;
+                }
+            }
+            User canonical = existing.get();
+            if (canonical != null) {
+                hits.increment();
+                return canonical;
+            }
+            // Référence collectée entre-temps: on nettoie et on recommence
+            table.remove(existing, existing);
+        }
+    }
+
+    public int size() {
+        expungeStaleEntries();
+        return table.size();
+    }
+
+    public Stats stats() { return new Stats(hits.sum(), misses.sum(), size()); }
+
+    private void expungeStaleEntries() {
+        Object ref;
+        while ((ref = queue.poll()) != null) {
+            table.remove(ref, ref);
+        }
+    }
+
+    // Clé de recherche fortement référencée: évite d'allouer une WeakReference par lookup
+    private static final class Probe {
+        private final User user;
+
+        Probe(User user) { this.user = user; }
+
+        @Override
+        public int hashCode() { return user.hashCode(); }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof WeakKey && user.equals(((WeakKey) o).get());
+        }
+    }
+
+    private static final class WeakKey extends WeakReference<User> {
+        private final int hash;
+
+        WeakKey(User user, ReferenceQueue<User> queue) {
+            super(user, queue);
+            this.hash = user.hashCode();
+        }
+
+        @Override
+        public int hashCode() { return hash; }
+
+        @Override
+        public boolean equals(Object o) {
+            if (o == this) return true;
+            User u = get();
+            if (u == null) return false;
+            if (o instanceof WeakKey) return u.equals(((WeakKey) o).get());
+            if (o instanceof Probe) return u.equals(((Probe) o).user);
+            return false;
+        }
+    }
+
+    public static void main(String[] args) {
+        UserInterner interner = new UserInterner();
+        User a = interner.intern(new User(new String("Alice"), 30));
+        User b = interner.intern(new User(new String("Alice"), 30));
+        System.out.println(a == b);            // true
+        System.out.println(interner.stats());  // Stats(hits=1, misses=1, size=1)
+    }
+}
@@ -1,8 +1,53 @@
 package com.ps.java8.s02;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
 public class ConsoleGreeter implements Greeter {
+    // Les raccourcis ci-dessous écrivent "Hello "/"Hi " en dur: une sous-classe (qui peut redéfinir
+    // greet/greetCasual) repasse par les méthodes par défaut de Greeter, donc par son greet
+    private final boolean exact = getClass() == ConsoleGreeter.class;
+
     @Override
     public String greet(String name) {
         return "Hello " + name;
     }
+
+    // Sans allocation: préfixe constant puis nom, directement dans le tampon
+    @Override
+    public StringBuilder greetTo(StringBuilder out, CharSequence name) {
+        if (!exact) return Greeter.super.greetTo(out, name);
+        return out.append("Hello ").append(name);
+    }
+
+    @Override
+    public Appendable greetTo(Appendable out, CharSequence name) throws IOException {
+        if (!exact) return Greeter.super.greetTo(out, name);
+        return out.append("Hello ").append(name);
+    }
+
+    @Override
+    public StringBuilder greetCasualTo(StringBuilder out, CharSequence name) {
+        if (!exact) return Greeter.super.greetCasualTo(out, name);
+        return out.append("Hi ").append(name);
+    }
+
+    @Override
+    public Appendable greetCasualTo(Appendable out, CharSequence name) throws IOException {
+        if (!exact) return Greeter.super.greetCasualTo(out, name);
+        return out.append("Hi ").append(name);
+    }
+
+    // Préfixe pré-encodé, nom copié tel quel s'il est ASCII: ni String ni CharsetEncoder
+    @Override
+    public ByteBuffer greetTo(ByteBuffer out, CharSequence name) {
+        if (!exact) return Greeter.super.greetTo(out, name);
+        return GreetingBytes.put(out, GreetingBytes.HELLO, name);
+    }
+
+    @Override
+    public ByteBuffer greetCasualTo(ByteBuffer out, CharSequence name) {
+        if (!exact) return Greeter.super.greetCasualTo(out, name);
+        return GreetingBytes.put(out, GreetingBytes.HI, name);
+    }
 }
@@ -1,9 +1,45 @@
 package com.ps.java8.s02;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
 public interface Greeter {
     String greet(String name);
 
     default String greetCasual(String name) {
         return "Hi " + name;
     }
+
+    /**
+     * Écrit la salutation dans un tampon réutilisé. L'implémentation par défaut passe par greet();
+     * une implémentation peut l'écrire morceau par morceau, sans String intermédiaire.
+     */
+    default StringBuilder greetTo(StringBuilder out, CharSequence name) {
+        return out.append(greet(name.toString()));
+    }
+
+    default Appendable greetTo(Appendable out, CharSequence name) throws IOException {
+        return out.append(greet(name.toString()));
+    }
+
+    default StringBuilder greetCasualTo(StringBuilder out, CharSequence name) {
+        return out.append(greetCasual(name.toString()));
+    }
+
+    default Appendable greetCasualTo(Appendable out, CharSequence name) throws IOException {
+        return out.append(greetCasual(name.toString()));
+    }
+
+    /**
+     * Écrit la salutation encodée en UTF-8 dans un ByteBuffer (socket, fichier...).
+     * BufferOverflowException si la place manque, le buffer restant alors inchangé.
+     */
+    default ByteBuffer greetTo(ByteBuffer out, CharSequence name) {
+        return out.put(greet(name.toString()).getBytes(StandardCharsets.UTF_8));
+    }
+
+    default ByteBuffer greetCasualTo(ByteBuffer out, CharSequence name) {
+        return out.put(greetCasual(name.toString()).getBytes(StandardCharsets.UTF_8));
+    }
 }
@@ -1,14 +1,71 @@
 package com.ps.java8.s03;
 
+import java.util.function.DoubleFunction;
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.IntUnaryOperator;
+import java.util.function.LongFunction;
+import java.util.function.LongUnaryOperator;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 
 public class Runner {
     public static <T, R> R withValue(T value, Function<T, R> block) {
         return block.apply(value);
     }
 
+    // Spécialisations primitives: withValue(42, ...) passe par un Integer (Function<T, R>).
+    // Noms distincts plutôt que des surcharges: avec une lambda non typée, withValue(int, IntFunction)
+    // et withValue(long, LongFunction) seraient ambigus pour un argument int.
+
+    /** Valeur primitive en entrée, résultat objet. */
+    public static <R> R withInt(int value, IntFunction<R> block) {
+        return block.apply(value);
+    }
+
+    public static <R> R withLong(long value, LongFunction<R> block) {
+        return block.apply(value);
+    }
+
+    public static <R> R withDouble(double value, DoubleFunction<R> block) {
+        return block.apply(value);
+    }
+
+    /** Primitive en entrée et en sortie: aucun boxing. */
+    public static int withIntAsInt(int value, IntUnaryOperator block) {
+        return block.applyAsInt(value);
+    }
+
+    public static long withLongAsLong(long value, LongUnaryOperator block) {
+        return block.applyAsLong(value);
+    }
+
+    public static double withDoubleAsDouble(double value, DoubleUnaryOperator block) {
+        return block.applyAsDouble(value);
+    }
+
+    /** Objet en entrée, résultat primitif. */
+    public static <T> int withValueAsInt(T value, ToIntFunction<T> block) {
+        return block.applyAsInt(value);
+    }
+
+    public static <T> long withValueAsLong(T value, ToLongFunction<T> block) {
+        return block.applyAsLong(value);
+    }
+
+    public static <T> double withValueAsDouble(T value, ToDoubleFunction<T> block) {
+        return block.applyAsDouble(value);
+    }
+
     public static void main(String[] args) {
         String result = withValue(42, v -> "val=" + v);
         System.out.println(result);
+
+        String unboxed = withInt(42, v -> "val=" + v);            // sans Integer
+        System.out.println(unboxed);                              // val=42
+        System.out.println(withIntAsInt(42, v -> v * 2));         // 84
+        System.out.println(withValueAsInt("Alice", String::length)); // 5
     }
 }
@@ -0,0 +1,24 @@
+package com.ps.java8.s04;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * Une seule valeur, mise à jour atomiquement (lock xadd sur x86): lecture exacte et immédiate,
+ * mais tous les écrivains se disputent la même ligne de cache.
+ */
+public class AtomicCounter implements ConcurrentCounter {
+    private static final AtomicLongFieldUpdater<AtomicCounter> VALUE =
+            AtomicLongFieldUpdater.newUpdater(AtomicCounter.class, "value");
+
+    // Champ volatile + updater: pas d'objet AtomicLong en plus par compteur
+    private volatile long value;
+
+    @Override public long getValue() { return value; }
+    @Override public void setValue(long v) { this.value = v; }
+
+    @Override public void increment() { VALUE.getAndIncrement(this); }
+    @Override public void add(long delta) { VALUE.getAndAdd(this, delta); }
+
+    public long incrementAndGet() { return VALUE.incrementAndGet(this); }
+    public long addAndGet(long delta) { return VALUE.addAndGet(this, delta); }
+}
@@ -0,0 +1,15 @@
+package com.ps.java8.s04;
+
+/**
+ * Counter partagé entre threads: même surface get/set, plus increment/add.
+ * En long: 64 threads feraient déborder un int en quelques secondes.
+ */
+public interface ConcurrentCounter {
+    long getValue();
+
+    void setValue(long v);
+
+    void increment();
+
+    void add(long delta);
+}
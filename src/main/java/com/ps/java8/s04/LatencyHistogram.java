@@ -0,0 +1,167 @@
+package com.ps.java8.s04;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Distribution de latences en mémoire fixe, à la HdrHistogram: seaux log-linéaires, soit
+ * 2^precisionBits seaux par puissance de deux (5 bits: erreur relative < 3,2 %), de 0 à Long.MAX_VALUE ns.
+ * record() est wait-free: un seul getAndIncrement sur le seau, dans la rangée de seaux du thread,
+ * pour que les threads ne se disputent pas la même ligne de cache. Chaque thread reçoit à sa
+ * première mesure un numéro de rangée à tour de rôle (compteur global), gardé ensuite: jusqu'à
+ * stripes threads mesurant en même temps ont chacun leur rangée, au-delà elles sont partagées
+ * (pas de réattribution en cas de collision, contrairement aux cellules d'un LongAdder).
+ * Les seaux ne sont jamais remis à zéro: un snapshot d'intervalle est la différence avec le
+ * cumul précédent, donc aucune mesure n'est perdue ni comptée deux fois.
+ * Mémoire: stripes * (64 - precisionBits) * 2^precisionBits longs, soit 15 Ko par rangée avec
+ * 5 bits et 432 Ko avec le maximum de 10 bits (erreur &lt; 0,1 %, trois chiffres significatifs).
+ */
+public class LatencyHistogram {
+
+    public static final int DEFAULT_PRECISION_BITS = 5;
+    // Au-delà de ~3 chiffres significatifs, la gigue de System.nanoTime domine et la mémoire explose
+    // (16 bits: 25 Mo par rangée)
+    public static final int MAX_PRECISION_BITS = 10;
+
+    private static final AtomicInteger NEXT_STRIPE = new AtomicInteger();
+    private static final ThreadLocal<Integer> STRIPE = ThreadLocal.withInitial(NEXT_STRIPE::getAndIncrement);
+
+    private final int precisionBits;
+    private final int bucketCount;
+    private final AtomicLongArray[] stripes;
+    private final int stripeMask;
+    // Cumul au dernier intervalSnapshot(), sous le verrou de l'objet
+    private long[] lastInterval;
+
+    public LatencyHistogram() {
+        this(DEFAULT_PRECISION_BITS, Runtime.getRuntime().availableProcessors());
+    }
+
+    /** stripes est arrondi à la puissance de deux supérieure. */
+    public LatencyHistogram(int precisionBits, int stripes) {
+        if (precisionBits < 1 || precisionBits > MAX_PRECISION_BITS) {
+            throw new IllegalArgumentException("precisionBits must be in [1, " + MAX_PRECISION_BITS + "]");
+        }
+        if (stripes < 1) throw new IllegalArgumentException("stripes must be >= 1");
+        this.precisionBits = precisionBits;
+        this.bucketCount = (64 - precisionBits) << precisionBits;
+        int n = stripes == 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.stripes = new AtomicLongArray[n];
+        for (int i = 0; i < n; i++) this.stripes[i] = new AtomicLongArray(bucketCount);
+        this.stripeMask = n - 1;
+        this.lastInterval = new long[bucketCount];
+    }
+
+    /** Durée négative (horloges différentes...) comptée comme 0. */
+    public void record(long nanos) {
+        stripes[STRIPE.get() & stripeMask].getAndIncrement(bucketIndex(Math.max(nanos, 0)));
+    }
+
+    /** record(System.nanoTime() - startNanos). */
+    public void recordSince(long startNanos) { record(System.nanoTime() - startNanos); }
+
+    /** Tout ce qui a été enregistré depuis la création. */
+    public Snapshot snapshot() { return new Snapshot(cumulative()); }
+
+    /** Ce qui a été enregistré depuis l'appel précédent (ou la création). */
+    public synchronized Snapshot intervalSnapshot() {
+        long[] now = cumulative();
+        long[] delta = new long[bucketCount];
+        for (int i = 0; i < bucketCount; i++) delta[i] = now[i] - lastInterval[i];
+        lastInterval = now;
+        return new Snapshot(delta);
+    }
+
+    private long[] cumulative() {
+        long[] counts = new long[bucketCount];
+        for (AtomicLongArray stripe : stripes) {
+            for (int i = 0; i < bucketCount; i++) counts[i] += stripe.get(i);
+        }
+        return counts;
+    }
+
+    // Valeurs < 2^p: un seau par valeur. Au-delà: les p bits sous le bit de poids fort donnent le sous-seau
+    int bucketIndex(long value) {
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        if (magnitude < precisionBits) return (int) value;
+        int shift = magnitude - precisionBits;
+        return ((shift + 1) << precisionBits) + (int) ((value >>> shift) - (1L << precisionBits));
+    }
+
+    long lowestValue(int index) {
+        int shift = (index >> precisionBits) - 1;
+        if (shift < 0) return index;
+        long sub = index & ((1 << precisionBits) - 1);
+        return ((1L << precisionBits) + sub) << shift;
+    }
+
+    long highestValue(int index) {
+        int shift = (index >> precisionBits) - 1;
+        return shift < 0 ? index : lowestValue(index) + ((1L << shift) - 1);
+    }
+
+    /** Comptes figés; les valeurs rendues sont la borne haute du seau (pessimiste pour une latence). */
+    public final class Snapshot {
+        private final long[] counts;
+        private final long count;
+
+        Snapshot(long[] counts) {
+            this.counts = counts;
+            long total = 0;
+            for (long c : counts) total += c;
+            this.count = total;
+        }
+
+        public long getCount() { return count; }
+
+        /** Latence sous laquelle tombent percentile % des mesures (0 si vide). */
+        public long valueAtPercentile(double percentile) {
+            if (percentile < 0 || percentile > 100) throw new IllegalArgumentException("percentile must be in [0, 100]");
+            if (count == 0) return 0;
+            long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) return highestValue(i);
+            }
+            return getMax();
+        }
+
+        public long getMax() {
+            for (int i = counts.length - 1; i >= 0; i--) {
+                if (counts[i] != 0) return highestValue(i);
+            }
+            return 0;
+        }
+
+        /** Moyenne approchée, au milieu de chaque seau. */
+        public double getMean() {
+            if (count == 0) return 0;
+            double sum = 0;
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] != 0) sum += counts[i] * ((lowestValue(i) + (double) highestValue(i)) / 2);
+            }
+            return sum / count;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("count=%d p50=%dns p90=%dns p99=%dns p99.9=%dns max=%dns",
+                    count, valueAtPercentile(50), valueAtPercentile(90), valueAtPercentile(99),
+                    valueAtPercentile(99.9), getMax());
+        }
+    }
+
+    public static void main(String[] args) {
+        LatencyHistogram latencies = new LatencyHistogram();
+        StringBuilder sink = new StringBuilder();
+        for (int i = 0; i < 100_000; i++) {
+            long start = System.nanoTime();
+            sink.setLength(0);
+            sink.append("val=").append(i);
+            latencies.recordSince(start);
+        }
+        System.out.println(latencies.intervalSnapshot());  // count=100000 p50=...
+        System.out.println(latencies.intervalSnapshot());  // count=0 ...
+    }
+}
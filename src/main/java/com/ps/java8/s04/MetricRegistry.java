@@ -0,0 +1,182 @@
+package com.ps.java8.s04;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.regex.Pattern;
+
+/**
+ * Compteurs et jauges nommés, exportés au format texte Prometheus, sans bibliothèque de métriques.
+ * Chemin chaud: l'appelant garde la référence rendue par counter()/gauge() et n'appelle que
+ * increment()/add()/setValue(), sans allocation ni recherche par nom.
+ * snapshot() et scrape() lisent chaque valeur sans arrêter les écrivains: chaque valeur est
+ * exacte à un instant, mais l'ensemble n'est pas une coupe cohérente entre métriques.
+ */
+public class MetricRegistry {
+
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+    private static final Pattern NAME = Pattern.compile("[a-zA-Z_:][a-zA-Z0-9_:]*");
+
+    private enum Type { COUNTER, GAUGE }
+
+    private static final class Metric {
+        final String name;
+        final String help;
+        final Type type;
+        // Ce que rend l'enregistrement: MonotonicCounter, AtomicCounter ou le LongSupplier fourni
+        final Object handle;
+        final LongSupplier value;
+
+        Metric(String name, String help, Type type, Object handle, LongSupplier value) {
+            this.name = name;
+            this.help = help;
+            this.type = type;
+            this.handle = handle;
+            this.value = value;
+        }
+    }
+
+    private final ConcurrentHashMap<String, Metric> metrics = new ConcurrentHashMap<>();
+
+    /**
+     * Compteur monotone, striped (LongAdder): fait pour être très écrit et peu lu, et sans setter
+     * pour ne jamais redescendre. Même nom déjà enregistré comme compteur: rend l'existant.
+     */
+    public MonotonicCounter counter(String name, String help) {
+        Metric metric = register(name, help, Type.COUNTER, null);
+        if (!(metric.handle instanceof MonotonicCounter)) throw alreadyRegistered(metric);
+        return (MonotonicCounter) metric.handle;
+    }
+
+    /** Jauge qui monte et descend (connexions ouvertes, taille de file...). */
+    public AtomicCounter gauge(String name, String help) {
+        Metric metric = register(name, help, Type.GAUGE, null);
+        if (!(metric.handle instanceof AtomicCounter)) throw alreadyRegistered(metric);
+        return (AtomicCounter) metric.handle;
+    }
+
+    /** Jauge lue à chaque scrape: la source (ex. queue.size()) ne fait rien de plus sur le chemin chaud. */
+    public void gauge(String name, String help, LongSupplier value) {
+        Objects.requireNonNull(value, "value");
+        Metric metric = register(name, help, Type.GAUGE, value);
+        if (metric.handle != value) throw alreadyRegistered(metric);
+    }
+
+    // value null: la métrique porte sa propre valeur (MonotonicCounter ou AtomicCounter selon type)
+    private Metric register(String name, String help, Type type, LongSupplier value) {
+        Objects.requireNonNull(help, "help");
+        // Déjà enregistré: ni regex ni lambda, une simple lecture de la map
+        Metric existing = metrics.get(name);
+        if (existing != null) return existing;
+        if (!NAME.matcher(name).matches()) throw new IllegalArgumentException("invalid metric name: " + name);
+        return metrics.computeIfAbsent(name, n -> {
+            if (value != null) return new Metric(n, help, type, value, value);
+            if (type == Type.COUNTER) {
+                MonotonicCounter counter = new MonotonicCounter();
+                return new Metric(n, help, type, counter, counter::getValue);
+            }
+            AtomicCounter gauge = new AtomicCounter();
+            return new Metric(n, help, type, gauge, gauge::getValue);
+        });
+    }
+
+    private static IllegalArgumentException alreadyRegistered(Metric metric) {
+        return new IllegalArgumentException("metric " + metric.name + " already registered as another "
+                + metric.type.name().toLowerCase());
+    }
+
+    /** Valeurs courantes, triées par nom. */
+    public Map<String, Long> snapshot() {
+        Map<String, Long> values = new LinkedHashMap<>();
+        for (Metric m : sorted()) values.put(m.name, m.value.getAsLong());
+        return values;
+    }
+
+    /** Format d'exposition texte de Prometheus (0.0.4). */
+    public String scrape() {
+        StringBuilder out = new StringBuilder(128 * metrics.size());
+        for (Metric m : sorted()) {
+            out.append("# HELP ").append(m.name).append(' ');
+            escapeHelp(m.help, out);
+            out.append('\n');
+            out.append("# TYPE ").append(m.name).append(' ').append(m.type == Type.COUNTER ? "counter" : "gauge").append('\n');
+            out.append(m.name).append(' ').append(m.value.getAsLong()).append('\n');
+        }
+        return out.toString();
+    }
+
+    private List<Metric> sorted() {
+        List<Metric> list = new ArrayList<>(metrics.values());
+        Collections.sort(list, (a, b) -> a.name.compareTo(b.name));
+        return list;
+    }
+
+    private static void escapeHelp(String help, StringBuilder out) {
+        for (int i = 0; i < help.length(); i++) {
+            char c = help.charAt(i);
+            if (c == '\\') out.append("\\\\");
+            else if (c == '\n') out.append("\\n");
+            else out.append(c);
+        }
+    }
+
+    /**
+     * Sert GET /metrics sur 127.0.0.1:port (0 = port libre) avec le serveur HTTP du JDK.
+     * Le scrape tourne sur le thread du serveur, jamais sur celui des écrivains. stop(0) pour arrêter.
+     */
+    public HttpServer serve(int port) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext("/metrics", exchange -> {
+            try {
+                if (!"GET".equals(exchange.getRequestMethod())) {
+                    exchange.sendResponseHeaders(405, -1);
+                    return;
+                }
+                byte[] body = scrape().getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            } finally {
+                exchange.close();
+            }
+        });
+        server.start();
+        return server;
+    }
+
+    public static void main(String[] args) throws IOException {
+        MetricRegistry registry = new MetricRegistry();
+        MonotonicCounter requests = registry.counter("http_requests_total", "Requêtes reçues");
+        AtomicCounter inFlight = registry.gauge("http_requests_in_flight", "Requêtes en cours");
+        registry.gauge("jvm_memory_used_bytes", "Heap utilisé",
+                () -> Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory());
+
+        inFlight.increment();
+        requests.increment();
+        inFlight.add(-1);
+
+        HttpServer server = registry.serve(9400);
+        System.out.println("http://127.0.0.1:" + server.getAddress().getPort() + "/metrics");
+        // # HELP http_requests_in_flight Requêtes en cours
+        // # TYPE http_requests_in_flight gauge
+        // http_requests_in_flight 0
+        // # HELP http_requests_total Requêtes reçues
+        // # TYPE http_requests_total counter
+        // http_requests_total 1
+        // ...
+    }
+}
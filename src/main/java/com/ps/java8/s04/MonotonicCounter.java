@@ -0,0 +1,21 @@
+package com.ps.java8.s04;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compteur qui ne fait que monter, comme un counter Prometheus: cellules LongAdder comme
+ * StripedCounter, mais ni setValue ni reset, et un add négatif est refusé. Un scrape ne voit
+ * donc jamais la valeur redescendre (hors redémarrage du processus).
+ */
+public final class MonotonicCounter {
+    private final LongAdder cells = new LongAdder();
+
+    public long getValue() { return cells.sum(); }
+
+    public void increment() { cells.increment(); }
+
+    public void add(long delta) {
+        if (delta < 0) throw new IllegalArgumentException("counter can only increase: " + delta);
+        cells.add(delta);
+    }
+}
@@ -0,0 +1,41 @@
+package com.ps.java8.s04;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * Compteur qui ne descend jamais sous zéro, comme le Counter Kotlin (require(value >= 0)),
+ * mais sans verrou: boucle de compareAndSet qui vérifie l'invariant sur la valeur lue.
+ * Un add qui rendrait la valeur négative (ou déborderait) échoue sans rien modifier.
+ */
+public class NonNegativeCounter implements ConcurrentCounter {
+    private static final AtomicLongFieldUpdater<NonNegativeCounter> VALUE =
+            AtomicLongFieldUpdater.newUpdater(NonNegativeCounter.class, "value");
+
+    private volatile long value;
+
+    @Override public long getValue() { return value; }
+
+    @Override
+    public void setValue(long v) {
+        if (v < 0) throw new IllegalArgumentException("value must be >= 0");
+        this.value = v;
+    }
+
+    @Override public void increment() { add(1); }
+
+    @Override
+    public void add(long delta) {
+        if (!tryAdd(delta)) throw new IllegalArgumentException("value must be >= 0");
+    }
+
+    /** false (valeur inchangée) si le résultat serait négatif: ex. prendre un jeton s'il en reste. */
+    public boolean tryAdd(long delta) {
+        for (;;) {
+            long current = value;
+            long next = current + delta;
+            // next < 0: passage sous zéro, ou débordement de Long.MAX_VALUE
+            if (next < 0) return false;
+            if (VALUE.compareAndSet(this, current, next)) return true;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.ps.java8.s04;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Nombre d'événements sur la dernière fenêtre de temps (ex. 10 s), pour du throttling.
+ * Anneau de slots couvrant chacun window/slots, chaque slot étant un LongAdder (striped):
+ * increment() est O(1), getValue() additionne les slots de la fenêtre, O(slots).
+ * La rotation est paresseuse: pas de thread, le premier écrivain qui tombe sur un slot périmé
+ * le remplace par un slot neuf (CAS). On ne remet jamais un slot à zéro, sinon un incrément
+ * concurrent pourrait être effacé. Un écrivain en retard qui incrémente un slot déjà remplacé
+ * compte un événement de toute façon sorti de la fenêtre.
+ * Allocation: un Slot et son LongAdder par période de slot où il y a des écritures (plus les
+ * cellules du LongAdder sous contention); un écrivain qui perd le CAS jette le slot qu'il avait créé.
+ * Hors rotation, increment() n'alloue rien.
+ * Précision: la fenêtre lue couvre entre window - window/slots et window (slot le plus ancien partiel).
+ */
+public class SlidingWindowCounter {
+
+    private static final class Slot {
+        final long epoch;
+        final LongAdder count = new LongAdder();
+
+        Slot(long epoch) { this.epoch = epoch; }
+    }
+
+    private final AtomicReferenceArray<Slot> ring;
+    private final int slots;
+    private final long slotNanos;
+    private final LongSupplier clock;
+
+    public SlidingWindowCounter(long window, TimeUnit unit, int slots) {
+        this(window, unit, slots, System::nanoTime);
+    }
+
+    SlidingWindowCounter(long window, TimeUnit unit, int slots, LongSupplier clock) {
+        if (slots < 1) throw new IllegalArgumentException("slots must be >= 1");
+        long windowNanos = unit.toNanos(window);
+        if (windowNanos < slots) throw new IllegalArgumentException("window must be >= 1 ns per slot");
+        this.slots = slots;
+        this.slotNanos = windowNanos / slots;
+        this.clock = clock;
+        this.ring = new AtomicReferenceArray<>(slots);
+        Slot empty = new Slot(Long.MIN_VALUE);
+        for (int i = 0; i < slots; i++) ring.set(i, empty);
+    }
+
+    public void increment() { slot().count.increment(); }
+
+    public void add(long delta) { slot().count.add(delta); }
+
+    /** Événements des slots encore dans la fenêtre. */
+    public long getValue() {
+        long now = Math.floorDiv(clock.getAsLong(), slotNanos);
+        long sum = 0;
+        for (int i = 0; i < slots; i++) {
+            Slot s = ring.get(i);
+            if (s.epoch > now - slots && s.epoch <= now) sum += s.count.sum();
+        }
+        return sum;
+    }
+
+    /** getValue() ramené à la seconde, sur la durée couverte par les slots. */
+    public double ratePerSecond() {
+        return getValue() * 1e9 / (slotNanos * slots);
+    }
+
+    private Slot slot() {
+        long epoch = Math.floorDiv(clock.getAsLong(), slotNanos);
+        int index = (int) Math.floorMod(epoch, (long) slots);
+        for (;;) {
+            Slot s = ring.get(index);
+            // Cas courant: slot du bon tour. Déjà plus récent: écrivain suspendu plus d'une
+            // fenêtre entre l'horloge et ici, l'événement compte dans le tour courant
+            if (s.epoch >= epoch) return s;
+            Slot fresh = new Slot(epoch);
+            if (ring.compareAndSet(index, s, fresh)) return fresh;
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        SlidingWindowCounter requests = new SlidingWindowCounter(1, TimeUnit.SECONDS, 10);
+        for (int i = 0; i < 5; i++) requests.increment();
+        System.out.println(requests.getValue());  // 5
+        Thread.sleep(1_200);
+        requests.increment();
+        System.out.println(requests.getValue());  // 1
+    }
+}
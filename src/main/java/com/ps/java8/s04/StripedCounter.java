@@ -0,0 +1,24 @@
+package com.ps.java8.s04;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Valeur répartie sur des cellules (LongAdder): sous contention, chaque thread finit sur sa
+ * propre cellule et les incréments ne se gênent plus. En échange, getValue() additionne les
+ * cellules (pas un instantané exact pendant les écritures) et setValue n'est pas atomique
+ * vis-à-vis des add concurrents. Pour les compteurs très écrits et peu lus (métriques).
+ */
+public class StripedCounter implements ConcurrentCounter {
+    private final LongAdder cells = new LongAdder();
+
+    @Override public long getValue() { return cells.sum(); }
+
+    @Override
+    public void setValue(long v) {
+        cells.reset();
+        cells.add(v);
+    }
+
+    @Override public void increment() { cells.increment(); }
+    @Override public void add(long delta) { cells.add(delta); }
+}
@@ -0,0 +1,186 @@
+package com.ps.kotlin.s01
+
+import java.nio.BufferUnderflowException
+import java.nio.ByteBuffer
+
+// Codec binaire compact, même format que les variantes Java:
+//   record = varint(longueur UTF-8 du nom + 1) | octets UTF-8 | varint zigzag(age)
+//   lot    = varint(nombre de records) | record*
+// Les écritures se font directement dans le ByteBuffer fourni.
+object UserCodec {
+
+    fun encodedSize(u: User): Int {
+        val len = utf8Length(u.name)
+        return varintSize(len + 1) + len + varintSize(zigzag(u.age))
+    }
+
+    fun encode(u: User, out: ByteBuffer) {
+        out.putVarint(utf8Length(u.name) + 1)
+        out.putUtf8(u.name)
+        out.putVarint(zigzag(u.age))
+    }
+
+    fun decode(input: ByteBuffer): User {
+        val len = input.getVarint() - 1
+        require(len >= 0) { "null name is not a valid kotlin User" }
+        if (len > input.remaining()) throw BufferUnderflowException()
+        val name = if (input.hasArray()) {
+            String(input.array(), input.arrayOffset() + input.position(), len, Charsets.UTF_8)
+                .also { input.position(input.position() + len) }
+        } else {
+            String(ByteArray(len).also { input.get(it) }, Charsets.UTF_8)
+        }
+        return User(name, unzigzag(input.getVarint()))
+    }
+
+    fun encodeAll(users: Collection<User>, out: ByteBuffer) {
+        out.putVarint(users.size)
+        users.forEach { encode(it, out) }
+    }
+
+    fun encodeAll(users: Array<User>, out: ByteBuffer) {
+        out.putVarint(users.size)
+        users.forEach { encode(it, out) }
+    }
+
+    fun decodeAll(input: ByteBuffer): List<User> = List(input.getCount()) { decode(input) }
+
+    fun decodeArray(input: ByteBuffer): Array<User> = Array(input.getCount()) { decode(input) }
+
+    // Nombre d'entrées lu avant d'allouer: chaque entrée prend au moins un octet, donc un compte
+    // au-delà de remaining() (ou négatif) vient d'une entrée tronquée ou corrompue
+    private fun ByteBuffer.getCount(): Int {
+        val count = getVarint()
+        require(count >= 0) { "negative user count: $count" }
+        if (count > remaining()) throw BufferUnderflowException()
+        return count
+    }
+
+    // Lecture sans allocation d'un lot: position/longueur du nom dans le buffer et âge, sans User ni String
+    class Reader(private val buf: ByteBuffer) {
+        private var remaining = buf.getVarint()
+
+        var nameOffset = 0
+            private set
+        var nameLength = 0
+            private set
+        var age = 0
+            private set
+
+        fun next(): Boolean {
+            if (remaining == 0) return false
+            remaining--
+            nameLength = buf.getVarint() - 1
+            require(nameLength >= 0) { "null name is not a valid kotlin User" }
+            nameOffset = buf.position()
+            buf.position(nameOffset + nameLength)
+            age = unzigzag(buf.getVarint())
+            return true
+        }
+
+        fun nameEquals(utf8: ByteArray): Boolean =
+            utf8.size == nameLength && utf8.indices.all { buf.get(nameOffset + it) == utf8[it] }
+
+        // Matérialisation explicite, à la demande
+        fun name(): String = String(ByteArray(nameLength).also { buf.get(nameOffset, it) }, Charsets.UTF_8)
+
+        fun toUser(): User = User(name(), age)
+    }
+
+    internal fun utf8Length(s: String): Int {
+        var bytes = s.length
+        var i = 0
+        while (i < s.length) {
+            val c = s[i]
+            when {
+                c.code < 0x80 -> {}
+                c.code < 0x800 -> bytes += 1
+                c.isHighSurrogate() && i + 1 < s.length && s[i + 1].isLowSurrogate() -> { bytes += 2; i++ }
+                !c.isSurrogate() -> bytes += 2
+            }
+            i++
+        }
+        return bytes
+    }
+
+    internal fun zigzag(v: Int): Int = (v shl 1) xor (v shr 31)
+    internal fun unzigzag(v: Int): Int = (v ushr 1) xor -(v and 1)
+
+    internal fun varintSize(v: Int): Int {
+        var size = 1
+        var rest = v
+        while (rest and 0x7F.inv() != 0) {
+            rest = rest ushr 7
+            size++
+        }
+        return size
+    }
+}
+
+// Extensions: l'écriture se lit comme une API de ByteBuffer
+fun ByteBuffer.putUser(u: User): ByteBuffer = apply { UserCodec.encode(u, this) }
+fun ByteBuffer.getUser(): User = UserCodec.decode(this)
+
+internal fun ByteBuffer.putVarint(v: Int) {
+    var rest = v
+    while (rest and 0x7F.inv() != 0) {
+        put(((rest and 0x7F) or 0x80).toByte())
+        rest = rest ushr 7
+    }
+    put(rest.toByte())
+}
+
+internal fun ByteBuffer.getVarint(): Int {
+    var result = 0
+    var shift = 0
+    while (shift < 32) {
+        val b = get().toInt()
+        result = result or ((b and 0x7F) shl shift)
+        if (b >= 0) return result
+        shift += 7
+    }
+    throw IllegalArgumentException("malformed varint")
+}
+
+// Encodage UTF-8 à la main: pas de ByteArray intermédiaire ni de CharsetEncoder
+internal fun ByteBuffer.putUtf8(s: String) {
+    var i = 0
+    while (i < s.length) {
+        val c = s[i].code
+        when {
+            c < 0x80 -> put(c.toByte())
+            c < 0x800 -> {
+                put((0xC0 or (c shr 6)).toByte())
+                put((0x80 or (c and 0x3F)).toByte())
+            }
+            s[i].isHighSurrogate() && i + 1 < s.length && s[i + 1].isLowSurrogate() -> {
+                val cp = Character.toCodePoint(s[i], s[++i])
+                put((0xF0 or (cp shr 18)).toByte())
+                put((0x80 or ((cp shr 12) and 0x3F)).toByte())
+                put((0x80 or ((cp shr 6) and 0x3F)).toByte())
+                put((0x80 or (cp and 0x3F)).toByte())
+            }
+            s[i].isSurrogate() -> put('?'.code.toByte()) // surrogate isolé, comme String.toByteArray
+            else -> {
+                put((0xE0 or (c shr 12)).toByte())
+                put((0x80 or ((c shr 6) and 0x3F)).toByte())
+                put((0x80 or (c and 0x3F)).toByte())
+            }
+        }
+        i++
+    }
+}
+
+fun main() {
+    val buf = ByteBuffer.allocate(256)
+    UserCodec.encodeAll(listOf(User("Alice", 30), User("Zoë", 25)), buf)
+    buf.flip()
+    println("${buf.remaining()} octets")        // 14 octets
+
+    val reader = UserCodec.Reader(buf.duplicate())
+    while (reader.next()) println("${reader.nameLength} octets de nom, age=${reader.age}")
+    println(UserCodec.decodeAll(buf))           // [User(name=Alice, age=30), User(name=Zoë, age=25)]
+
+    val single = ByteBuffer.allocate(32).putUser(User("Bob", 40)).flip()
+    println(single.getUser())                   // User(name=Bob, age=40)
+}
@@ -0,0 +1,82 @@
+package com.ps.kotlin.s01
+
+import java.lang.ref.ReferenceQueue
+import java.lang.ref.WeakReference
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.LongAdder
+
+// Canonicalise les User égaux vers une instance unique, sans les retenir (références faibles).
+// Deux User internés sont égaux ssi ils sont identiques: le equals d'une data class teste === en premier.
+class UserInterner {
+
+    data class Stats(val hits: Long, val misses: Long, val size: Int) {
+        val hitRate: Double
+            get() = if (hits + misses == 0L) 0.0 else hits.toDouble() / (hits + misses)
+    }
+
+    private val table = ConcurrentHashMap<Any, WeakKey>()
+    private val queue = ReferenceQueue<User>()
+    private val hits = LongAdder()
+    private val misses = LongAdder()
+
+    fun intern(user: User): User {
+        expungeStaleEntries()
+        while (true) {
+            val existing = table[Probe(user)]
+                ?: WeakKey(user, queue).let { fresh ->
+                    table.putIfAbsent(fresh, fresh) ?: return user.also { misses.increment() }
+                }
+            existing.get()?.let { canonical ->
+                hits.increment()
+                return canonical
+            }
+            // Référence collectée entre-temps: on nettoie et on recommence
+            table.remove(existing, existing)
+        }
+    }
+
+    val size: Int
+        get() {
+            expungeStaleEntries()
+            return table.size
+        }
+
+    fun stats(): Stats = Stats(hits.sum(), misses.sum(), size)
+
+    private fun expungeStaleEntries() {
+        while (true) {
+            val ref = queue.poll() ?: return
+            table.remove(ref, ref)
+        }
+    }
+
+    // Clé de recherche fortement référencée: évite d'allouer une WeakReference par lookup
+    private class Probe(val user: User) {
+        override fun hashCode(): Int = user.hashCode()
+        override fun equals(other: Any?): Boolean = other is WeakKey && user == other.get()
+    }
+
+    private class WeakKey(user: User, queue: ReferenceQueue<User>) : WeakReference<User>(user, queue) {
+        private val hash = user.hashCode()
+
+        override fun hashCode(): Int = hash
+
+        override fun equals(other: Any?): Boolean {
+            if (other === this) return true
+            val u = get() ?: return false
+            return when (other) {
+                is WeakKey -> u == other.get()
+                is Probe -> u == other.user
+                else -> false
+            }
+        }
+    }
+}
+
+fun main() {
+    val interner = UserInterner()
+    val a = interner.intern(User(String("Alice".toCharArray()), 30))
+    val b = interner.intern(User(String("Alice".toCharArray()), 30))
+    println(a === b)          // true
+    println(interner.stats()) // Stats(hits=1, misses=1, size=1)
+}
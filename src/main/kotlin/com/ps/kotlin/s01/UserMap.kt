@@ -0,0 +1,207 @@
+package com.ps.kotlin.s01
+
+// Map persistante de User indexés par nom (HAMT, variante CHAMP): chaque mise à jour
+// recopie seulement le chemin vers la feuille et partage le reste; un instantané coûte O(1).
+class UserMap private constructor(private val root: Node, val size: Int) : Iterable<User> {
+
+    private sealed class Node
+
+    // Users d'abord (ordre des bits de dataMap), puis sous-nœuds (ordre des bits de nodeMap)
+    private class Bitmap(val dataMap: Int, val nodeMap: Int, val slots: Array<Any>) : Node() {
+        fun dataIndex(bit: Int) = Integer.bitCount(dataMap and (bit - 1))
+        fun nodeIndex(bit: Int) = Integer.bitCount(dataMap) + Integer.bitCount(nodeMap and (bit - 1))
+    }
+
+    // Noms différents mais même hachage complet
+    private class Collision(val hash: Int, val users: Array<User>) : Node()
+
+    fun isEmpty() = size == 0
+
+    operator fun get(name: String): User? {
+        val hash = hash(name)
+        var node = root
+        var shift = 0
+        while (true) {
+            when (node) {
+                is Collision -> return node.users.firstOrNull { it.name == name }
+                is Bitmap -> {
+                    val bit = bit(hash, shift)
+                    if (node.dataMap and bit != 0) {
+                        val u = node.slots[node.dataIndex(bit)] as User
+                        return if (u.name == name) u else null
+                    }
+                    if (node.nodeMap and bit == 0) return null
+                    node = node.slots[node.nodeIndex(bit)] as Node
+                    shift += BITS
+                }
+            }
+        }
+    }
+
+    operator fun contains(name: String) = get(name) != null
+
+    // Ajoute ou remplace le User de même nom; renvoie this si rien ne change
+    operator fun plus(user: User): UserMap {
+        val added = BooleanArray(1)
+        val newRoot = put(root, user, hash(user.name), 0, added)
+        return if (newRoot === root) this else UserMap(newRoot, if (added[0]) size + 1 else size)
+    }
+
+    operator fun minus(name: String): UserMap {
+        val newRoot = remove(root, name, hash(name), 0)
+        return if (newRoot === root) this else UserMap(newRoot, size - 1)
+    }
+
+    // Ex: users.update("Alice") { it.copy(age = 31) }
+    inline fun update(name: String, transform: (User) -> User): UserMap {
+        val current = get(name) ?: return this
+        val updated = transform(current)
+        return if (updated.name == name) this + updated else this - name + updated
+    }
+
+    // Parcours paresseux, sans copie intermédiaire
+    override fun iterator(): Iterator<User> = iterator { visit(root) }
+
+    fun toList(): List<User> = ArrayList<User>(size).also { list -> forEach(root) { list += it } }
+
+    override fun toString() = "UserMap${toList()}"
+
+    companion object {
+        private const val BITS = 5
+        private const val MASK = (1 shl BITS) - 1
+
+        private val EMPTY = UserMap(Bitmap(0, 0, emptyArray()), 0)
+
+        fun empty(): UserMap = EMPTY
+
+        fun of(vararg users: User): UserMap = users.fold(EMPTY) { map, u -> map + u }
+
+        private fun hash(name: String): Int {
+            val h = name.hashCode()
+            return h xor (h ushr 16)
+        }
+
+        private fun bit(hash: Int, shift: Int) = 1 shl ((hash ushr shift) and MASK)
+
+        private fun put(node: Node, user: User, hash: Int, shift: Int, added: BooleanArray): Node {
+            if (node is Collision) {
+                val i = node.users.indexOfFirst { it.name == user.name }
+                if (i >= 0) {
+                    if (node.users[i] == user) return node
+                    return Collision(hash, node.users.copyOf().also { it[i] = user })
+                }
+                added[0] = true
+                return Collision(hash, node.users + user)
+            }
+            val b = node as Bitmap
+            val bit = bit(hash, shift)
+            if (b.dataMap and bit != 0) {
+                val i = b.dataIndex(bit)
+                val existing = b.slots[i] as User
+                if (existing.name == user.name) {
+                    if (existing == user) return node
+                    return Bitmap(b.dataMap, b.nodeMap, b.slots.copyOf().also { it[i] = user })
+                }
+                // Deux noms sur la même branche: on descend d'un niveau
+                added[0] = true
+                val child = merge(existing, hash(existing.name), user, hash, shift + BITS)
+                val newNodeIndex = Integer.bitCount(b.dataMap) - 1 + Integer.bitCount(b.nodeMap and (bit - 1))
+                val slots = b.slots.copyOf()
+                System.arraycopy(b.slots, i + 1, slots, i, newNodeIndex - i)
+                slots[newNodeIndex] = child
+                return Bitmap(b.dataMap and bit.inv(), b.nodeMap or bit, slots)
+            }
+            if (b.nodeMap and bit != 0) {
+                val i = b.nodeIndex(bit)
+                val child = b.slots[i] as Node
+                val newChild = put(child, user, hash, shift + BITS, added)
+                if (newChild === child) return node
+                return Bitmap(b.dataMap, b.nodeMap, b.slots.copyOf().also { it[i] = newChild })
+            }
+            added[0] = true
+            val i = b.dataIndex(bit)
+            val slots = Array(b.slots.size + 1) { j ->
+                when {
+                    j < i -> b.slots[j]
+                    j == i -> user
+                    else -> b.slots[j - 1]
+                }
+            }
+            return Bitmap(b.dataMap or bit, b.nodeMap, slots)
+        }
+
+        private fun merge(u1: User, h1: Int, u2: User, h2: Int, shift: Int): Node {
+            if (shift >= Int.SIZE_BITS) return Collision(h1, arrayOf(u1, u2))
+            val f1 = (h1 ushr shift) and MASK
+            val f2 = (h2 ushr shift) and MASK
+            if (f1 == f2) return Bitmap(0, 1 shl f1, arrayOf(merge(u1, h1, u2, h2, shift + BITS)))
+            return Bitmap((1 shl f1) or (1 shl f2), 0, if (f1 < f2) arrayOf(u1, u2) else arrayOf(u2, u1))
+        }
+
+        private fun remove(node: Node, name: String, hash: Int, shift: Int): Node {
+            if (node is Collision) {
+                val i = node.users.indexOfFirst { it.name == name }
+                if (i < 0) return node
+                return Collision(hash, node.users.filterIndexed { j, _ -> j != i }.toTypedArray())
+            }
+            val b = node as Bitmap
+            val bit = bit(hash, shift)
+            if (b.dataMap and bit != 0) {
+                val i = b.dataIndex(bit)
+                if ((b.slots[i] as User).name != name) return node
+                val slots = b.slots.filterIndexed { j, _ -> j != i }.toTypedArray()
+                return Bitmap(b.dataMap and bit.inv(), b.nodeMap, slots)
+            }
+            if (b.nodeMap and bit == 0) return node
+            val i = b.nodeIndex(bit)
+            val child = b.slots[i] as Node
+            val newChild = remove(child, name, hash, shift + BITS)
+            if (newChild === child) return node
+            // Forme canonique: un sous-nœud réduit à un seul User remonte dans le parent
+            val single = singleUser(newChild)
+                ?: return Bitmap(b.dataMap, b.nodeMap, b.slots.copyOf().also { it[i] = newChild })
+            val newDataIndex = b.dataIndex(bit)
+            val slots = b.slots.copyOf()
+            System.arraycopy(b.slots, newDataIndex, slots, newDataIndex + 1, i - newDataIndex)
+            slots[newDataIndex] = single
+            return Bitmap(b.dataMap or bit, b.nodeMap and bit.inv(), slots)
+        }
+
+        private fun singleUser(node: Node): User? = when (node) {
+            is Collision -> node.users.singleOrNull()
+            is Bitmap -> if (node.nodeMap == 0 && node.slots.size == 1) node.slots[0] as User else null
+        }
+
+        private suspend fun SequenceScope<User>.visit(node: Node) {
+            when (node) {
+                is Collision -> yieldAll(node.users.asList())
+                is Bitmap -> {
+                    val data = Integer.bitCount(node.dataMap)
+                    for (i in 0 until data) yield(node.slots[i] as User)
+                    for (i in data until node.slots.size) visit(node.slots[i] as Node)
+                }
+            }
+        }
+
+        private fun forEach(node: Node, action: (User) -> Unit) {
+            when (node) {
+                is Collision -> node.users.forEach(action)
+                is Bitmap -> {
+                    val data = Integer.bitCount(node.dataMap)
+                    for (i in 0 until data) action(node.slots[i] as User)
+                    for (i in data until node.slots.size) forEach(node.slots[i] as Node, action)
+                }
+            }
+        }
+    }
+}
+
+fun main() {
+    val v1 = UserMap.of(User("Alice", 30), User("Bob", 25))
+    val snapshot = v1                                  // instantané: une simple référence
+    val v2 = v1.update("Alice") { it.copy(age = 31) } + User("Chloé", 34)
+
+    println(snapshot["Alice"])                         // User(name=Alice, age=30)
+    println(v2["Alice"])                               // User(name=Alice, age=31)
+    println("${v2.size} / ${snapshot.size}")           // 3 / 2
+}
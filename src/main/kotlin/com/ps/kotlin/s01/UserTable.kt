@@ -0,0 +1,102 @@
+package com.ps.kotlin.s01
+
+// Stockage colonnaire de User: noms encodés par dictionnaire + IntArray des âges.
+// Le parcours passe par des lambdas inline: aucun User ni aucune lambda allouée.
+class UserTable(initialCapacity: Int = 16) {
+    private val codes = HashMap<String, Int>()
+    private var dictionary = arrayOfNulls<String>(16)
+
+    @PublishedApi internal var nameCodes = IntArray(initialCapacity.coerceAtLeast(1))
+    @PublishedApi internal var ages = IntArray(nameCodes.size)
+
+    var size: Int = 0
+        private set
+
+    val distinctNames: Int get() = codes.size
+
+    fun append(name: String, age: Int): Int {
+        ensureCapacity(size + 1)
+        nameCodes[size] = encode(name)
+        ages[size] = age
+        return size++
+    }
+
+    fun append(user: User): Int = append(user.name, user.age)
+
+    fun appendAll(users: Collection<User>) {
+        ensureCapacity(size + users.size)
+        for ((name, age) in users) {
+            nameCodes[size] = encode(name)
+            ages[size] = age
+            size++
+        }
+    }
+
+    fun name(row: Int): String = nameOf(nameCodes[checkRow(row)])
+    fun age(row: Int): Int = ages[checkRow(row)]
+
+    // Matérialisation explicite, à réserver aux frontières de l'API
+    fun toUser(row: Int): User = User(name(row), age(row))
+
+    inline fun forEachRow(action: (row: Int, name: String, age: Int) -> Unit) {
+        for (i in 0 until size) action(i, nameOf(nameCodes[i]), ages[i])
+    }
+
+    fun countByAge(range: IntRange): Int {
+        var count = 0
+        for (i in 0 until size) if (ages[i] in range) count++
+        return count
+    }
+
+    fun filterByAge(range: IntRange): Selection {
+        val rows = IntArray(countByAge(range))
+        var n = 0
+        for (i in 0 until size) if (ages[i] in range) rows[n++] = i
+        return Selection(this, rows)
+    }
+
+    // Vue légère: seuls les indices de lignes sont copiés
+    class Selection internal constructor(
+        @PublishedApi internal val table: UserTable,
+        @PublishedApi internal val rows: IntArray
+    ) {
+        val size: Int get() = rows.size
+        fun row(i: Int): Int = rows[i]
+        fun name(i: Int): String = table.name(rows[i])
+        fun age(i: Int): Int = table.age(rows[i])
+
+        inline fun forEachRow(action: (row: Int, name: String, age: Int) -> Unit) {
+            for (r in rows) action(r, table.nameOf(table.nameCodes[r]), table.ages[r])
+        }
+    }
+
+    @PublishedApi internal fun nameOf(code: Int): String = dictionary[code]!!
+
+    private fun encode(name: String): Int = codes.getOrPut(name) {
+        if (codes.size == dictionary.size) dictionary = dictionary.copyOf(dictionary.size * 2)
+        dictionary[codes.size] = name
+        codes.size
+    }
+
+    private fun ensureCapacity(required: Int) {
+        if (required <= nameCodes.size) return
+        val capacity = maxOf(required, nameCodes.size + (nameCodes.size shr 1))
+        nameCodes = nameCodes.copyOf(capacity)
+        ages = ages.copyOf(capacity)
+    }
+
+    private fun checkRow(row: Int): Int {
+        if (row !in 0 until size) throw IndexOutOfBoundsException("row $row out of [0, $size)")
+        return row
+    }
+}
+
+fun main() {
+    val table = UserTable()
+    table.appendAll(listOf(User("Alice", 30), User("Bob", 25), User("Alice", 42)))
+
+    table.filterByAge(26..99).forEachRow { row, name, age ->
+        println("$row: $name a $age ans")
+    }
+    println("${table.distinctNames} noms distincts pour ${table.size} lignes")
+}
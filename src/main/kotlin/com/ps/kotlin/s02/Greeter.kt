@@ -1,16 +1,41 @@
 package com.ps.kotlin.s02
 
+import java.nio.ByteBuffer
+
 interface Greeter {
     fun greet(name: String): String
     fun greetCasual(name: String): String = "Hi $name"
+
+    // Rendu dans un tampon réutilisé (StringBuilder, Writer...); par défaut via greet()
+    fun greetTo(out: Appendable, name: CharSequence): Appendable = out.append(greet(name.toString()))
+    fun greetCasualTo(out: Appendable, name: CharSequence): Appendable = out.append(greetCasual(name.toString()))
+
+    // Rendu UTF-8 dans un ByteBuffer; BufferOverflowException (buffer inchangé) si la place manque
+    fun greetTo(out: ByteBuffer, name: CharSequence): ByteBuffer = out.put(greet(name.toString()).toByteArray())
+    fun greetCasualTo(out: ByteBuffer, name: CharSequence): ByteBuffer = out.put(greetCasual(name.toString()).toByteArray())
 }
 
 class ConsoleGreeter : Greeter {
     override fun greet(name: String): String = "Hello $name"
+
+    // Sans allocation: préfixe constant puis nom, directement dans le tampon
+    override fun greetTo(out: Appendable, name: CharSequence): Appendable = out.append("Hello ").append(name)
+    override fun greetCasualTo(out: Appendable, name: CharSequence): Appendable = out.append("Hi ").append(name)
+
+    // Préfixe pré-encodé, nom ASCII copié octet par octet: ni String ni CharsetEncoder
+    override fun greetTo(out: ByteBuffer, name: CharSequence): ByteBuffer = GreetingBytes.put(out, GreetingBytes.HELLO, name)
+    override fun greetCasualTo(out: ByteBuffer, name: CharSequence): ByteBuffer = GreetingBytes.put(out, GreetingBytes.HI, name)
 }
 
 fun main() {
     val g: Greeter = ConsoleGreeter()
     println(g.greet("Alice"))       // Hello Alice
     println(g.greetCasual("Alice")) // Hi Alice
-}
\ No newline at end of file
+
+    val sb = StringBuilder()
+    for (name in listOf("Alice", "Bob")) {
+        sb.setLength(0)
+        g.greetTo(sb, name)
+        println(sb)                 // Hello Alice, puis Hello Bob
+    }
+}
@@ -0,0 +1,79 @@
+package com.ps.kotlin.s02
+
+import java.nio.BufferOverflowException
+import java.nio.ByteBuffer
+
+// Rendu UTF-8 des salutations dans un ByteBuffer: préfixes encodés une fois,
+// noms ASCII copiés un octet par char directement dans le tableau, encodage complet sinon.
+internal object GreetingBytes {
+    val HELLO = "Hello ".toByteArray(Charsets.US_ASCII)
+    val HI = "Hi ".toByteArray(Charsets.US_ASCII)
+
+    // Écrit prefix + name; BufferOverflowException sans rien écrire si la place manque
+    fun put(out: ByteBuffer, prefix: ByteArray, name: CharSequence): ByteBuffer {
+        val n = name.length
+        if (out.remaining() < prefix.size + 3 * n && out.remaining() < prefix.size + utf8Length(name)) {
+            throw BufferOverflowException()
+        }
+        out.put(prefix)
+        var i = 0
+        if (out.hasArray()) {
+            val a = out.array()
+            val at = out.arrayOffset() + out.position()
+            while (i < n) {
+                val c = name[i].code
+                if (c >= 0x80) break
+                a[at + i] = c.toByte()
+                i++
+            }
+            out.position(out.position() + i)
+        }
+        return putUtf8(out, name, i)
+    }
+
+    private fun putUtf8(out: ByteBuffer, s: CharSequence, from: Int): ByteBuffer {
+        var i = from
+        while (i < s.length) {
+            val c = s[i]
+            when {
+                c.code < 0x80 -> out.put(c.code.toByte())
+                c.code < 0x800 -> {
+                    out.put((0xC0 or (c.code shr 6)).toByte())
+                    out.put((0x80 or (c.code and 0x3F)).toByte())
+                }
+                c.isHighSurrogate() && i + 1 < s.length && s[i + 1].isLowSurrogate() -> {
+                    val cp = Character.toCodePoint(c, s[++i])
+                    out.put((0xF0 or (cp shr 18)).toByte())
+                    out.put((0x80 or ((cp shr 12) and 0x3F)).toByte())
+                    out.put((0x80 or ((cp shr 6) and 0x3F)).toByte())
+                    out.put((0x80 or (cp and 0x3F)).toByte())
+                }
+                c.isSurrogate() -> out.put('?'.code.toByte())
+                else -> {
+                    out.put((0xE0 or (c.code shr 12)).toByte())
+                    out.put((0x80 or ((c.code shr 6) and 0x3F)).toByte())
+                    out.put((0x80 or (c.code and 0x3F)).toByte())
+                }
+            }
+            i++
+        }
+        return out
+    }
+
+    // Substitution isolée comptée 1 octet ('?'), comme String.toByteArray()
+    private fun utf8Length(s: CharSequence): Int {
+        var bytes = s.length
+        var i = 0
+        while (i < s.length) {
+            val c = s[i]
+            when {
+                c.code < 0x80 -> {}
+                c.code < 0x800 -> bytes += 1
+                c.isHighSurrogate() && i + 1 < s.length && s[i + 1].isLowSurrogate() -> { bytes += 2; i++ }
+                !c.isSurrogate() -> bytes += 2
+            }
+            i++
+        }
+        return bytes
+    }
+}
@@ -0,0 +1,68 @@
+package com.ps.kotlin.s04
+
+import java.util.concurrent.atomic.AtomicLong
+import java.util.concurrent.atomic.LongAdder
+
+// Counter partagé entre threads: même propriété value (en Long), plus increment/add
+interface ConcurrentCounter {
+    var value: Long
+    fun increment()
+    fun add(delta: Long)
+}
+
+// Une seule valeur atomique: lecture exacte, mais tous les écrivains sur la même ligne de cache
+class AtomicCounter : ConcurrentCounter {
+    private val cell = AtomicLong()
+
+    override var value: Long
+        get() = cell.get()
+        set(v) = cell.set(v)
+
+    override fun increment() { cell.getAndIncrement() }
+    override fun add(delta: Long) { cell.getAndAdd(delta) }
+
+    fun incrementAndGet(): Long = cell.incrementAndGet()
+}
+
+// Cellules réparties (LongAdder): incréments sans contention, lecture = somme, set non atomique
+class StripedCounter : ConcurrentCounter {
+    private val cells = LongAdder()
+
+    override var value: Long
+        get() = cells.sum()
+        set(v) {
+            cells.reset()
+            cells.add(v)
+        }
+
+    override fun increment() = cells.increment()
+    override fun add(delta: Long) = cells.add(delta)
+}
+
+// L'invariant du Counter (value >= 0) tenu sans verrou: compareAndSet sur la valeur vérifiée
+class NonNegativeCounter : ConcurrentCounter {
+    private val cell = AtomicLong()
+
+    override var value: Long
+        get() = cell.get()
+        set(v) {
+            require(v >= 0) { "value must be >= 0" }
+            cell.set(v)
+        }
+
+    override fun increment() = add(1)
+
+    override fun add(delta: Long) {
+        require(tryAdd(delta)) { "value must be >= 0" }
+    }
+
+    // false (valeur inchangée) si le résultat serait négatif ou déborderait
+    fun tryAdd(delta: Long): Boolean {
+        while (true) {
+            val current = cell.get()
+            val next = current + delta
+            if (next < 0) return false
+            if (cell.compareAndSet(current, next)) return true
+        }
+    }
+}